@@ -32,6 +32,7 @@ dependencies {
     implementation("org.spongepowered:configurate-yaml:4.2.0-GeyserMC-SNAPSHOT")
 
     testImplementation("org.junit.jupiter:junit-jupiter:5.7.1")
+    testImplementation("io.papermc.paper:paper-api:1.21.4-R0.1-SNAPSHOT")
     testImplementation("net.kyori:adventure-api:4.21.0")
     testImplementation("net.kyori:adventure-text-minimessage:4.21.0")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
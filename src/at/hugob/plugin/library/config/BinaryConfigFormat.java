@@ -0,0 +1,164 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A tagged binary {@link ConfigFormat}, every value is stored as a type byte followed by its data
+ */
+final class BinaryConfigFormat implements ConfigFormat {
+    private static final int MAGIC = 0x48434647; // HCFG
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte LIST = 7;
+    private static final byte MAP = 8;
+
+    private static final int MAX_DEPTH = 512;
+    /**
+     * The maximum amount of list elements that are allocated up front, so a corrupt size can not exhaust the memory
+     */
+    private static final int MAX_PREALLOCATED = 1024;
+
+    @Override
+    public @NotNull Map<String, Object> read(@NotNull final InputStream in) throws IOException, InvalidConfigurationException {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        final int magic;
+        try {
+            magic = data.readInt();
+        } catch (final EOFException e) {
+            // an empty file is an empty config
+            return new LinkedHashMap<>();
+        }
+        if (magic != MAGIC) throw new InvalidConfigurationException("Not a binary config file");
+        try {
+            final byte version = data.readByte();
+            if (version != VERSION) throw new InvalidConfigurationException("Unsupported binary config version " + version);
+            if (data.readByte() != MAP) throw new InvalidConfigurationException("The top level value is not a map");
+            return readMap(data, 0);
+        } catch (final EOFException e) {
+            throw new InvalidConfigurationException("The binary config file is truncated", e);
+        }
+    }
+
+    private static Map<String, Object> readMap(final DataInputStream in, final int depth) throws IOException, InvalidConfigurationException {
+        final int size = readLength(in);
+        final Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            result.put(readString(in), readValue(in, depth + 1));
+        }
+        return result;
+    }
+
+    private static Object readValue(final DataInputStream in, final int depth) throws IOException, InvalidConfigurationException {
+        if (depth > MAX_DEPTH) throw new InvalidConfigurationException("The binary config is nested deeper than " + MAX_DEPTH);
+        final byte type = in.readByte();
+        return switch (type) {
+            case NULL -> null;
+            case STRING -> readString(in);
+            case INT -> in.readInt();
+            case LONG -> in.readLong();
+            case DOUBLE -> in.readDouble();
+            case FLOAT -> in.readFloat();
+            case BOOLEAN -> in.readBoolean();
+            case LIST -> {
+                final int size = readLength(in);
+                final List<Object> result = new ArrayList<>(Math.min(size, MAX_PREALLOCATED));
+                for (int i = 0; i < size; i++) {
+                    result.add(readValue(in, depth + 1));
+                }
+                yield result;
+            }
+            case MAP -> readMap(in, depth);
+            default -> throw new InvalidConfigurationException("Unknown value type " + type);
+        };
+    }
+
+    private static String readString(final DataInputStream in) throws IOException, InvalidConfigurationException {
+        final int length = readLength(in);
+        // reads in chunks, so a corrupt length fails at the end of the file instead of allocating the whole length
+        final byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) throw new EOFException();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(final DataInputStream in) throws IOException, InvalidConfigurationException {
+        final int length = in.readInt();
+        if (length < 0) throw new InvalidConfigurationException("Invalid length " + length + " in binary config");
+        return length;
+    }
+
+    @Override
+    public void write(@NotNull final Map<String, Object> values, @NotNull final OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        writeValue(data, values);
+        data.flush();
+    }
+
+    private static void writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String || value instanceof Character) {
+            out.writeByte(STRING);
+            writeString(out, value.toString());
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INT);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Float number) {
+            out.writeByte(FLOAT);
+            out.writeFloat(number);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (final Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            throw new IOException("Can not write a value of type " + value.getClass().getName() + " as binary");
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String string) throws IOException {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
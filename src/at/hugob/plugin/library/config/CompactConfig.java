@@ -0,0 +1,847 @@
+package at.hugob.plugin.library.config;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compact, read only copy of a {@code ConfigurationSection} for configs that are never modified after they are loaded.
+ * <p>
+ * Keys and string values are interned, every section stores its entries in arrays that are searched linearly or
+ * through a small open addressing index for bigger sections, and {@code int}, {@code long}, {@code double} and
+ * {@code boolean} values are stored unboxed. The defaults are not copied into the config, every section links to
+ * the section at the same path of the compiled defaults, so one compiled defaults tree can be shared by many configs.
+ * <p>
+ * All methods that would modify the config throw an {@code UnsupportedOperationException}. Lists and maps are copied
+ * and unmodifiable, {@code ItemStack}s, {@code Location}s and {@code Vector}s are copied, so the source can be
+ * modified afterwards. The values that are returned are shared by all readers and must not be modified.
+ */
+public final class CompactConfig implements ConfigurationSection {
+    private static final Interner<String> INTERNER = Interners.newWeakInterner();
+    private static final int LINEAR_SCAN_LIMIT = 8;
+
+    private static final byte OBJECT = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+
+    private final @Nullable CompactConfig parent;
+    private final String name;
+    private final char separator;
+    private final @Nullable CompactConfig defaults;
+    private final String[] keys;
+    private final Object[] values;
+    /**
+     * The types of the values, {@code null} if all values are objects
+     */
+    private final byte[] types;
+    /**
+     * The unboxed values, {@code null} if all values are objects
+     */
+    private final long[] primitives;
+    /**
+     * The open addressing index into the keys, {@code null} for small sections that are searched linearly
+     */
+    private final int[] table;
+
+    /**
+     * Creates a compact copy of a config and its defaults
+     *
+     * @param config the config to copy
+     * @return the compact copy
+     */
+    public static @NotNull CompactConfig of(@NotNull final Configuration config) {
+        final Configuration defaults = config.getDefaults();
+        return of(config, defaults == null ? null : of(defaults, null));
+    }
+
+    /**
+     * Creates a compact copy of a section that falls back to already compiled defaults
+     *
+     * @param section  the section to copy, without its defaults
+     * @param defaults the compiled defaults that are shared with the copy
+     * @return the compact copy
+     */
+    public static @NotNull CompactConfig of(@NotNull final ConfigurationSection section, @Nullable final CompactConfig defaults) {
+        final Configuration root = section.getRoot();
+        final char separator = root == null ? '.' : root.options().pathSeparator();
+        return new CompactConfig(null, "", separator, defaults, section);
+    }
+
+    private CompactConfig(
+        final @Nullable CompactConfig parent, final String name, final char separator,
+        final @Nullable CompactConfig defaults, final ConfigurationSection source
+    ) {
+        this.parent = parent;
+        this.name = name;
+        this.separator = separator;
+        this.defaults = defaults;
+
+        final List<String> keyList = new ArrayList<>();
+        final List<Object> valueList = new ArrayList<>();
+        for (final String key : source.getKeys(false)) {
+            // get with an explicit default does not fall back to the defaults of the source
+            final Object value = source.get(key, null);
+            if (value == null) continue;
+            keyList.add(INTERNER.intern(key));
+            valueList.add(value);
+        }
+        final int size = keyList.size();
+        keys = keyList.toArray(new String[0]);
+        values = new Object[size];
+        byte[] types = null;
+        long[] primitives = null;
+        for (int i = 0; i < size; i++) {
+            final Object value = valueList.get(i);
+            final byte type = typeOf(value);
+            if (type == OBJECT) {
+                values[i] = compact(keys[i], value);
+                continue;
+            }
+            if (types == null) {
+                types = new byte[size];
+                primitives = new long[size];
+            }
+            types[i] = type;
+            primitives[i] = switch (type) {
+                case INT -> (Integer) value;
+                case LONG -> (Long) value;
+                case DOUBLE -> Double.doubleToRawLongBits((Double) value);
+                default -> (Boolean) value ? 1 : 0;
+            };
+        }
+        this.types = types;
+        this.primitives = primitives;
+        this.table = size > LINEAR_SCAN_LIMIT ? buildTable(keys) : null;
+    }
+
+    private Object compact(final String key, final Object value) {
+        if (value instanceof ConfigurationSection section) {
+            return new CompactConfig(this, key, separator, defaults == null ? null : defaults.section(key), section);
+        }
+        return freeze(value);
+    }
+
+    /**
+     * Copies a value so it is not shared with the source, lists and maps are copied deeply and made unmodifiable
+     */
+    private static Object freeze(final Object value) {
+        if (value instanceof String string) {
+            return INTERNER.intern(string);
+        } else if (value instanceof List<?> list) {
+            final List<Object> copy = new ArrayList<>(list.size());
+            for (final Object element : list) {
+                copy.add(element == null ? null : freeze(element));
+            }
+            return Collections.unmodifiableList(copy);
+        } else if (value instanceof Map<?, ?> map) {
+            final Map<Object, Object> copy = new LinkedHashMap<>();
+            map.forEach((key, element) -> copy.put(key, element == null ? null : freeze(element)));
+            return Collections.unmodifiableMap(copy);
+        } else if (value instanceof ItemStack itemStack) {
+            return itemStack.clone();
+        } else if (value instanceof Location location) {
+            return location.clone();
+        } else if (value instanceof Vector vector) {
+            return vector.clone();
+        }
+        return value;
+    }
+
+    private static byte typeOf(final Object value) {
+        if (value instanceof Integer) return INT;
+        if (value instanceof Long) return LONG;
+        if (value instanceof Double) return DOUBLE;
+        if (value instanceof Boolean) return BOOLEAN;
+        return OBJECT;
+    }
+
+    private static int[] buildTable(final String[] keys) {
+        // slots hold index + 1, so 0 marks an empty slot
+        final int[] table = new int[Integer.highestOneBit(keys.length * 2 - 1) << 1];
+        final int mask = table.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = hash(keys[i], 0, keys[i].length()) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    private static int hash(final String string, final int from, final int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + string.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private int indexOf(final String path, final int from, final int to) {
+        final int length = to - from;
+        if (table == null) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].length() == length && path.startsWith(keys[i], from)) return i;
+            }
+            return -1;
+        }
+        final int mask = table.length - 1;
+        for (int slot = hash(path, from, to) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            final String key = keys[table[slot] - 1];
+            if (key.length() == length && path.startsWith(key, from)) return table[slot] - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the section that directly contains the last key of a path
+     */
+    private @Nullable CompactConfig owner(final String path, final int lastSeparator) {
+        CompactConfig node = this;
+        int start = 0;
+        while (start <= lastSeparator) {
+            final int end = path.indexOf(separator, start);
+            final int index = node.indexOf(path, start, end);
+            if (index < 0 || !(node.values[index] instanceof CompactConfig child)) return null;
+            node = child;
+            start = end + 1;
+        }
+        return node;
+    }
+
+    private byte type(final int index) {
+        return types == null ? OBJECT : types[index];
+    }
+
+    private Object value(final int index) {
+        return switch (type(index)) {
+            case INT -> (int) primitives[index];
+            case LONG -> primitives[index];
+            case DOUBLE -> Double.longBitsToDouble(primitives[index]);
+            case BOOLEAN -> primitives[index] != 0;
+            default -> values[index];
+        };
+    }
+
+    private @Nullable CompactConfig section(final String key) {
+        final int index = indexOf(key, 0, key.length());
+        return index >= 0 && values[index] instanceof CompactConfig section ? section : null;
+    }
+
+    /**
+     * Looks up the type of the value at a path, {@code -1} if there is no own value at the path
+     */
+    private byte typeAt(final String path) {
+        final int lastSeparator = path.lastIndexOf(separator);
+        final CompactConfig node = owner(path, lastSeparator);
+        if (node == null) return -1;
+        final int index = node.indexOf(path, lastSeparator + 1, path.length());
+        return index < 0 ? -1 : node.type(index);
+    }
+
+    /**
+     * Looks up the unboxed value at a path, only valid if {@link #typeAt(String)} is a primitive type
+     */
+    private long primitiveAt(final String path) {
+        final int lastSeparator = path.lastIndexOf(separator);
+        final CompactConfig node = owner(path, lastSeparator);
+        return node.primitives[node.indexOf(path, lastSeparator + 1, path.length())];
+    }
+
+    private @Nullable Object find(final String path) {
+        final int lastSeparator = path.lastIndexOf(separator);
+        final CompactConfig node = owner(path, lastSeparator);
+        if (node == null) return null;
+        final int index = node.indexOf(path, lastSeparator + 1, path.length());
+        return index < 0 ? null : node.value(index);
+    }
+
+    @Override
+    public @NotNull Set<String> getKeys(final boolean deep) {
+        final Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i < keys.length; i++) {
+            result.add(keys[i]);
+            if (deep && values[i] instanceof CompactConfig child) {
+                for (final String key : child.getKeys(true)) {
+                    result.add(keys[i] + separator + key);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull Map<String, Object> getValues(final boolean deep) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            result.put(keys[i], value(i));
+            if (deep && values[i] instanceof CompactConfig child) {
+                for (final Map.Entry<String, Object> entry : child.getValues(true).entrySet()) {
+                    result.put(keys[i] + separator + entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean contains(@NotNull final String path) {
+        return contains(path, false);
+    }
+
+    @Override
+    public boolean contains(@NotNull final String path, final boolean ignoreDefault) {
+        return (ignoreDefault ? get(path, null) : get(path)) != null;
+    }
+
+    @Override
+    public boolean isSet(@NotNull final String path) {
+        return get(path, null) != null;
+    }
+
+    @Override
+    public @NotNull String getCurrentPath() {
+        if (parent == null) return "";
+        final String parentPath = parent.getCurrentPath();
+        return parentPath.isEmpty() ? name : parentPath + separator + name;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * A CompactConfig is not part of a {@code Configuration}
+     *
+     * @return always {@code null}
+     */
+    @Override
+    public @Nullable Configuration getRoot() {
+        return null;
+    }
+
+    @Override
+    public @Nullable ConfigurationSection getParent() {
+        return parent;
+    }
+
+    @Override
+    public @Nullable Object get(@NotNull final String path) {
+        if (path.isEmpty()) return this;
+        final Object value = find(path);
+        if (value != null || defaults == null) return value;
+        return defaults.get(path);
+    }
+
+    @Override
+    public @Nullable Object get(@NotNull final String path, @Nullable final Object def) {
+        if (path.isEmpty()) return this;
+        final Object value = find(path);
+        return value != null ? value : def;
+    }
+
+    @Override
+    public void set(@NotNull final String path, @Nullable final Object value) {
+        throw readOnly();
+    }
+
+    @Override
+    public @NotNull ConfigurationSection createSection(@NotNull final String path) {
+        throw readOnly();
+    }
+
+    @Override
+    public @NotNull ConfigurationSection createSection(@NotNull final String path, @NotNull final Map<?, ?> map) {
+        throw readOnly();
+    }
+
+    @Override
+    public @Nullable String getString(@NotNull final String path) {
+        final Object value = get(path);
+        return value != null ? value.toString() : null;
+    }
+
+    @Override
+    public @Nullable String getString(@NotNull final String path, @Nullable final String def) {
+        final Object value = get(path, def);
+        return value != null ? value.toString() : def;
+    }
+
+    @Override
+    public boolean isString(@NotNull final String path) {
+        return get(path) instanceof String;
+    }
+
+    @Override
+    public int getInt(@NotNull final String path) {
+        final byte type = typeAt(path);
+        if (usesNumberDefault(path, type)) return defaults == null ? 0 : defaults.getInt(path);
+        return intAt(path, type, 0);
+    }
+
+    @Override
+    public int getInt(@NotNull final String path, final int def) {
+        return intAt(path, typeAt(path), def);
+    }
+
+    private int intAt(final String path, final byte type, final int def) {
+        return switch (type) {
+            case INT, LONG -> (int) primitiveAt(path);
+            case DOUBLE -> (int) Double.longBitsToDouble(primitiveAt(path));
+            case OBJECT -> get(path, null) instanceof Number number ? number.intValue() : def;
+            default -> def;
+        };
+    }
+
+    /**
+     * Checks if a number getter without a default falls back to the defaults, which is the case if there is no own
+     * number at the path. The own value is only looked up again for values that are not primitives.
+     */
+    private boolean usesNumberDefault(final String path, final byte type) {
+        return switch (type) {
+            case INT, LONG, DOUBLE -> false;
+            case OBJECT -> !(get(path, null) instanceof Number);
+            default -> true;
+        };
+    }
+
+    @Override
+    public boolean isInt(@NotNull final String path) {
+        final byte type = typeAt(path);
+        if (type == -1) return defaults != null && defaults.isInt(path);
+        return type == INT;
+    }
+
+    @Override
+    public boolean getBoolean(@NotNull final String path) {
+        final byte type = typeAt(path);
+        if (type != BOOLEAN) return defaults != null && defaults.getBoolean(path);
+        return primitiveAt(path) != 0;
+    }
+
+    @Override
+    public boolean getBoolean(@NotNull final String path, final boolean def) {
+        return typeAt(path) == BOOLEAN ? primitiveAt(path) != 0 : def;
+    }
+
+    @Override
+    public boolean isBoolean(@NotNull final String path) {
+        final byte type = typeAt(path);
+        if (type == -1) return defaults != null && defaults.isBoolean(path);
+        return type == BOOLEAN;
+    }
+
+    @Override
+    public double getDouble(@NotNull final String path) {
+        final byte type = typeAt(path);
+        if (usesNumberDefault(path, type)) return defaults == null ? 0 : defaults.getDouble(path);
+        return doubleAt(path, type, 0);
+    }
+
+    @Override
+    public double getDouble(@NotNull final String path, final double def) {
+        return doubleAt(path, typeAt(path), def);
+    }
+
+    private double doubleAt(final String path, final byte type, final double def) {
+        return switch (type) {
+            case INT, LONG -> primitiveAt(path);
+            case DOUBLE -> Double.longBitsToDouble(primitiveAt(path));
+            case OBJECT -> get(path, null) instanceof Number number ? number.doubleValue() : def;
+            default -> def;
+        };
+    }
+
+    @Override
+    public boolean isDouble(@NotNull final String path) {
+        final byte type = typeAt(path);
+        if (type == -1) return defaults != null && defaults.isDouble(path);
+        return type == DOUBLE;
+    }
+
+    @Override
+    public long getLong(@NotNull final String path) {
+        final byte type = typeAt(path);
+        if (usesNumberDefault(path, type)) return defaults == null ? 0 : defaults.getLong(path);
+        return longAt(path, type, 0);
+    }
+
+    @Override
+    public long getLong(@NotNull final String path, final long def) {
+        return longAt(path, typeAt(path), def);
+    }
+
+    private long longAt(final String path, final byte type, final long def) {
+        return switch (type) {
+            case INT, LONG -> primitiveAt(path);
+            case DOUBLE -> (long) Double.longBitsToDouble(primitiveAt(path));
+            case OBJECT -> get(path, null) instanceof Number number ? number.longValue() : def;
+            default -> def;
+        };
+    }
+
+    @Override
+    public boolean isLong(@NotNull final String path) {
+        final byte type = typeAt(path);
+        if (type == -1) return defaults != null && defaults.isLong(path);
+        return type == LONG;
+    }
+
+    @Override
+    public @Nullable List<?> getList(@NotNull final String path) {
+        return get(path) instanceof List<?> list ? list : null;
+    }
+
+    @Override
+    public @Nullable List<?> getList(@NotNull final String path, @Nullable final List<?> def) {
+        return get(path, def) instanceof List<?> list ? list : def;
+    }
+
+    @Override
+    public boolean isList(@NotNull final String path) {
+        return get(path) instanceof List;
+    }
+
+    @Override
+    public @NotNull List<String> getStringList(@NotNull final String path) {
+        final List<?> list = getList(path);
+        final List<String> result = new ArrayList<>();
+        if (list == null) return result;
+        for (final Object object : list) {
+            if (object instanceof String || object instanceof Number || object instanceof Boolean || object instanceof Character) {
+                result.add(String.valueOf(object));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull List<Integer> getIntegerList(@NotNull final String path) {
+        final List<?> list = getList(path);
+        final List<Integer> result = new ArrayList<>();
+        if (list == null) return result;
+        for (final Object object : list) {
+            if (object instanceof Number number) {
+                result.add(number.intValue());
+            } else if (object instanceof Character character) {
+                result.add((int) character);
+            } else if (object instanceof String string) {
+                try {
+                    result.add(Integer.valueOf(string));
+                } catch (final NumberFormatException ignored) {
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull List<Boolean> getBooleanList(@NotNull final String path) {
+        final List<?> list = getList(path);
+        final List<Boolean> result = new ArrayList<>();
+        if (list == null) return result;
+        for (final Object object : list) {
+            if (object instanceof Boolean bool) {
+                result.add(bool);
+            } else if (object instanceof String string) {
+                if (Boolean.TRUE.toString().equals(string)) result.add(true);
+                else if (Boolean.FALSE.toString().equals(string)) result.add(false);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull List<Double> getDoubleList(@NotNull final String path) {
+        final List<?> list = getList(path);
+        final List<Double> result = new ArrayList<>();
+        if (list == null) return result;
+        for (final Object object : list) {
+            if (object instanceof Number number) {
+                result.add(number.doubleValue());
+            } else if (object instanceof Character character) {
+                result.add((double) character);
+            } else if (object instanceof String string) {
+                try {
+                    result.add(Double.valueOf(string));
+                } catch (final NumberFormatException ignored) {
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull List<Float> getFloatList(@NotNull final String path) {
+        final List<?> list = getList(path);
+        final List<Float> result = new ArrayList<>();
+        if (list == null) return result;
+        for (final Object object : list) {
+            if (object instanceof Number number) {
+                result.add(number.floatValue());
+            } else if (object instanceof Character character) {
+                result.add((float) character);
+            } else if (object instanceof String string) {
+                try {
+                    result.add(Float.valueOf(string));
+                } catch (final NumberFormatException ignored) {
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull List<Long> getLongList(@NotNull final String path) {
+        final List<?> list = getList(path);
+        final List<Long> result = new ArrayList<>();
+        if (list == null) return result;
+        for (final Object object : list) {
+            if (object instanceof Number number) {
+                result.add(number.longValue());
+            } else if (object instanceof Character character) {
+                result.add((long) character);
+            } else if (object instanceof String string) {
+                try {
+                    result.add(Long.valueOf(string));
+                } catch (final NumberFormatException ignored) {
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull List<Byte> getByteList(@NotNull final String path) {
+        final List<?> list = getList(path);
+        final List<Byte> result = new ArrayList<>();
+        if (list == null) return result;
+        for (final Object object : list) {
+            if (object instanceof Number number) {
+                result.add(number.byteValue());
+            } else if (object instanceof Character character) {
+                result.add((byte) (char) character);
+            } else if (object instanceof String string) {
+                try {
+                    result.add(Byte.valueOf(string));
+                } catch (final NumberFormatException ignored) {
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull List<Character> getCharacterList(@NotNull final String path) {
+        final List<?> list = getList(path);
+        final List<Character> result = new ArrayList<>();
+        if (list == null) return result;
+        for (final Object object : list) {
+            if (object instanceof Character character) {
+                result.add(character);
+            } else if (object instanceof String string && string.length() == 1) {
+                result.add(string.charAt(0));
+            } else if (object instanceof Number number) {
+                result.add((char) number.intValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull List<Short> getShortList(@NotNull final String path) {
+        final List<?> list = getList(path);
+        final List<Short> result = new ArrayList<>();
+        if (list == null) return result;
+        for (final Object object : list) {
+            if (object instanceof Number number) {
+                result.add(number.shortValue());
+            } else if (object instanceof Character character) {
+                result.add((short) (char) character);
+            } else if (object instanceof String string) {
+                try {
+                    result.add(Short.valueOf(string));
+                } catch (final NumberFormatException ignored) {
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public @NotNull List<Map<?, ?>> getMapList(@NotNull final String path) {
+        final List<?> list = getList(path);
+        final List<Map<?, ?>> result = new ArrayList<>();
+        if (list == null) return result;
+        for (final Object object : list) {
+            if (object instanceof Map<?, ?> map) result.add(map);
+        }
+        return result;
+    }
+
+    @Override
+    public <T> @Nullable T getObject(@NotNull final String path, @NotNull final Class<T> clazz) {
+        final Object def = defaults == null ? null : defaults.get(path);
+        return getObject(path, clazz, clazz.isInstance(def) ? clazz.cast(def) : null);
+    }
+
+    @Override
+    public <T> @Nullable T getObject(@NotNull final String path, @NotNull final Class<T> clazz, @Nullable final T def) {
+        final Object value = get(path, def);
+        return clazz.isInstance(value) ? clazz.cast(value) : def;
+    }
+
+    @Override
+    public <T extends ConfigurationSerializable> @Nullable T getSerializable(@NotNull final String path, @NotNull final Class<T> clazz) {
+        return getObject(path, clazz);
+    }
+
+    @Override
+    public <T extends ConfigurationSerializable> @Nullable T getSerializable(@NotNull final String path, @NotNull final Class<T> clazz, @Nullable final T def) {
+        return getObject(path, clazz, def);
+    }
+
+    @Override
+    public @Nullable Vector getVector(@NotNull final String path) {
+        return getObject(path, Vector.class);
+    }
+
+    @Override
+    public @Nullable Vector getVector(@NotNull final String path, @Nullable final Vector def) {
+        return getObject(path, Vector.class, def);
+    }
+
+    @Override
+    public boolean isVector(@NotNull final String path) {
+        return getObject(path, Vector.class) != null;
+    }
+
+    @Override
+    public @Nullable OfflinePlayer getOfflinePlayer(@NotNull final String path) {
+        return getObject(path, OfflinePlayer.class);
+    }
+
+    @Override
+    public @Nullable OfflinePlayer getOfflinePlayer(@NotNull final String path, @Nullable final OfflinePlayer def) {
+        return getObject(path, OfflinePlayer.class, def);
+    }
+
+    @Override
+    public boolean isOfflinePlayer(@NotNull final String path) {
+        return getObject(path, OfflinePlayer.class) != null;
+    }
+
+    @Override
+    public @Nullable ItemStack getItemStack(@NotNull final String path) {
+        return getObject(path, ItemStack.class);
+    }
+
+    @Override
+    public @Nullable ItemStack getItemStack(@NotNull final String path, @Nullable final ItemStack def) {
+        return getObject(path, ItemStack.class, def);
+    }
+
+    @Override
+    public boolean isItemStack(@NotNull final String path) {
+        return getObject(path, ItemStack.class) != null;
+    }
+
+    @Override
+    public @Nullable Color getColor(@NotNull final String path) {
+        return getObject(path, Color.class);
+    }
+
+    @Override
+    public @Nullable Color getColor(@NotNull final String path, @Nullable final Color def) {
+        return getObject(path, Color.class, def);
+    }
+
+    @Override
+    public boolean isColor(@NotNull final String path) {
+        return getObject(path, Color.class) != null;
+    }
+
+    @Override
+    public @Nullable Location getLocation(@NotNull final String path) {
+        return getObject(path, Location.class);
+    }
+
+    @Override
+    public @Nullable Location getLocation(@NotNull final String path, @Nullable final Location def) {
+        return getObject(path, Location.class, def);
+    }
+
+    @Override
+    public boolean isLocation(@NotNull final String path) {
+        return getObject(path, Location.class) != null;
+    }
+
+    @Override
+    public @Nullable ConfigurationSection getConfigurationSection(@NotNull final String path) {
+        final Object value = get(path, null);
+        if (value != null) return value instanceof ConfigurationSection section ? section : null;
+        return defaults == null ? null : defaults.getConfigurationSection(path);
+    }
+
+    @Override
+    public boolean isConfigurationSection(@NotNull final String path) {
+        return get(path) instanceof ConfigurationSection;
+    }
+
+    @Override
+    public @Nullable ConfigurationSection getDefaultSection() {
+        return defaults;
+    }
+
+    @Override
+    public void addDefault(@NotNull final String path, @Nullable final Object value) {
+        throw readOnly();
+    }
+
+    @Override
+    public @NotNull List<String> getComments(@NotNull final String path) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public @NotNull List<String> getInlineComments(@NotNull final String path) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void setComments(@NotNull final String path, @Nullable final List<String> comments) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setInlineComments(@NotNull final String path, @Nullable final List<String> comments) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("A CompactConfig is read only");
+    }
+
+    @Override
+    public String toString() {
+        return "CompactConfig[path='" + getCurrentPath() + "']";
+    }
+}
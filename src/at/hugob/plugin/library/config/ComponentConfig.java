@@ -0,0 +1,65 @@
+package at.hugob.plugin.library.config;
+
+import net.kyori.adventure.pointer.Pointered;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.ComponentSerializer;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@code ConfigurationSection} that can get its messages as Components, see {@link ConfigUtils#getComponent(ConfigurationSection, String)}
+ */
+public interface ComponentConfig extends ConfigurationSection {
+    /**
+     * Gets a Legacy/MiniMessage Hybrid Component at a specific path and also substitutes all placeholders that have values in the config file
+     *
+     * @param path the path the component
+     * @return the Component at the path
+     */
+    default Component getComponent(@NotNull String path) {
+        return getComponent(path, MiniMsgLegacyHybridSerializer.INSTANCE, null, null);
+    }
+
+    /**
+     * Gets a Legacy/MiniMessage Hybrid Component at a specific path and also substitutes all placeholders that have values in the config file
+     *
+     * @param path        the path the component
+     * @param tagResolver An optional TagResolver to use
+     * @return the Component at the path
+     */
+    default Component getComponent(@NotNull String path, @Nullable TagResolver tagResolver) {
+        return getComponent(path, MiniMsgLegacyHybridSerializer.INSTANCE, tagResolver, null);
+    }
+
+    /**
+     * Gets a Legacy/MiniMessage Hybrid Component at a specific path and also substitutes all placeholders that have values in the config file
+     *
+     * @param path        the path the component
+     * @param tagResolver An optional TagResolver to use
+     * @param target      An optional target for the TagResolver to use
+     * @return the Component at the path
+     */
+    default Component getComponent(@NotNull String path, @Nullable TagResolver tagResolver, @Nullable Pointered target) {
+        return getComponent(path, MiniMsgLegacyHybridSerializer.INSTANCE, tagResolver, target);
+    }
+
+    /**
+     * Gets a Message Component at a specific path and also substitutes all placeholders that have values in the config file
+     * <p>
+     * deserialized with the specified serializer
+     *
+     * @param path        the path the component
+     * @param <T>         The type the deserializer uses
+     * @param serializer  the serializer to deserialize the message
+     * @param tagResolver An optional Tag resolver
+     * @param target      An optional target to use for the TagResolver
+     * @return the Component at the path
+     */
+    default <T extends Component> Component getComponent(String path, ComponentSerializer<Component, T, String> serializer, TagResolver tagResolver, Pointered target) {
+        if (!(serializer instanceof MiniMessage miniMessage)) return ConfigUtils.getComponent(this, path, serializer);
+        return ConfigUtils.getComponent(this, path, miniMessage, tagResolver, target);
+    }
+}
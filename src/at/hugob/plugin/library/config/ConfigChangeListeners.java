@@ -0,0 +1,59 @@
+package at.hugob.plugin.library.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The listeners of a config that get notified about the {@link ConfigDiff} of a reload,
+ * each listener only gets the part of the difference below the path prefix it subscribed to
+ */
+public final class ConfigChangeListeners {
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Subscribes a listener to all changes at or below a path
+     *
+     * @param prefix   the path to listen to, an empty path listens to all changes
+     * @param listener the listener that gets the changes below the path
+     */
+    public void subscribe(@NotNull final String prefix, @NotNull final Consumer<ConfigDiff> listener) {
+        subscriptions.add(new Subscription(prefix, listener));
+    }
+
+    /**
+     * Removes a listener from all paths it subscribed to
+     *
+     * @param listener the listener to remove
+     */
+    public void unsubscribe(@NotNull final Consumer<ConfigDiff> listener) {
+        subscriptions.removeIf(subscription -> subscription.listener() == listener);
+    }
+
+    /**
+     * Checks if there are no listeners
+     *
+     * @return if there are no listeners
+     */
+    public boolean isEmpty() {
+        return subscriptions.isEmpty();
+    }
+
+    /**
+     * Notifies every listener whose path is affected by the difference
+     *
+     * @param diff the difference to publish
+     */
+    public void publish(@NotNull final ConfigDiff diff) {
+        if (diff.isEmpty()) return;
+        for (final Subscription subscription : subscriptions) {
+            final ConfigDiff filtered = diff.filter(subscription.prefix());
+            if (!filtered.isEmpty()) subscription.listener().accept(filtered);
+        }
+    }
+
+    private record Subscription(String prefix, Consumer<ConfigDiff> listener) {
+    }
+}
@@ -0,0 +1,138 @@
+package at.hugob.plugin.library.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The paths of all values that were added, removed or changed between two states of a config.
+ * <p>
+ * Only values are compared, sections are represented by the paths of the values inside them.
+ */
+public final class ConfigDiff {
+    private final Set<String> added;
+    private final Set<String> removed;
+    private final Set<String> changed;
+    private final char separator;
+
+    private ConfigDiff(final Set<String> added, final Set<String> removed, final Set<String> changed, final char separator) {
+        this.separator = separator;
+        this.added = Collections.unmodifiableSet(added);
+        this.removed = Collections.unmodifiableSet(removed);
+        this.changed = Collections.unmodifiableSet(changed);
+    }
+
+    /**
+     * Computes the difference between two states of a config whose paths are separated by dots
+     *
+     * @param before the values of the previous state by their path
+     * @param after  the values of the new state by their path
+     * @return the difference between both states
+     */
+    public static @NotNull ConfigDiff between(@NotNull final Map<String, ?> before, @NotNull final Map<String, ?> after) {
+        return between(before, after, '.');
+    }
+
+    /**
+     * Computes the difference between two states of a config
+     *
+     * @param before    the values of the previous state by their path
+     * @param after     the values of the new state by their path
+     * @param separator the separator of the keys in the paths
+     * @return the difference between both states
+     */
+    public static @NotNull ConfigDiff between(@NotNull final Map<String, ?> before, @NotNull final Map<String, ?> after, final char separator) {
+        final Set<String> added = new LinkedHashSet<>();
+        final Set<String> removed = new LinkedHashSet<>();
+        final Set<String> changed = new LinkedHashSet<>();
+        for (final Map.Entry<String, ?> entry : after.entrySet()) {
+            if (!before.containsKey(entry.getKey())) added.add(entry.getKey());
+            else if (!Objects.equals(before.get(entry.getKey()), entry.getValue())) changed.add(entry.getKey());
+        }
+        for (final String path : before.keySet()) {
+            if (!after.containsKey(path)) removed.add(path);
+        }
+        return new ConfigDiff(added, removed, changed, separator);
+    }
+
+    /**
+     * Gets the paths of all values that are new
+     *
+     * @return the added paths
+     */
+    public @NotNull Set<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * Gets the paths of all values that do not exist anymore
+     *
+     * @return the removed paths
+     */
+    public @NotNull Set<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Gets the paths of all values that have a different value
+     *
+     * @return the changed paths
+     */
+    public @NotNull Set<String> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Checks if nothing changed
+     *
+     * @return if there are no added, removed or changed paths
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    /**
+     * Checks if a path or anything below it changed
+     *
+     * @param prefix the path to check, an empty path matches everything
+     * @return if anything at or below the path changed
+     */
+    public boolean affects(@NotNull final String prefix) {
+        return added.stream().anyMatch(path -> isBelow(path, prefix))
+            || removed.stream().anyMatch(path -> isBelow(path, prefix))
+            || changed.stream().anyMatch(path -> isBelow(path, prefix));
+    }
+
+    /**
+     * Gets the part of this difference that is at or below a path
+     *
+     * @param prefix the path to filter by, an empty path matches everything
+     * @return the filtered difference
+     */
+    public @NotNull ConfigDiff filter(@NotNull final String prefix) {
+        if (prefix.isEmpty()) return this;
+        return new ConfigDiff(filter(added, prefix), filter(removed, prefix), filter(changed, prefix), separator);
+    }
+
+    private Set<String> filter(final Set<String> paths, final String prefix) {
+        final Set<String> result = new LinkedHashSet<>();
+        for (final String path : paths) {
+            if (isBelow(path, prefix)) result.add(path);
+        }
+        return result;
+    }
+
+    private boolean isBelow(final String path, final String prefix) {
+        if (prefix.isEmpty()) return true;
+        return path.startsWith(prefix) && (path.length() == prefix.length() || path.charAt(prefix.length()) == separator);
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigDiff{added=" + added + ", removed=" + removed + ", changed=" + changed + '}';
+    }
+}
@@ -0,0 +1,105 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * The file of a file backed config, shared by {@link YamlFileConfig} and {@link FormatFileConfig}.
+ * <p>
+ * Copies the default file out of the jar and writes the serialized config asynchronously, if multiple writes are
+ * queued only the newest data is written.
+ */
+final class ConfigFile {
+    private final JavaPlugin plugin;
+    private final String filePath;
+    private final File file;
+    private final @Nullable Supplier<InputStream> defaults;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicReference<byte[]> pendingWrite = new AtomicReference<>();
+    private volatile CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+
+    ConfigFile(final JavaPlugin plugin, final String filePath, final @Nullable Supplier<InputStream> defaults) {
+        this.plugin = plugin;
+        this.filePath = filePath;
+        this.file = new File(plugin.getDataFolder(), filePath);
+        this.defaults = defaults;
+    }
+
+    File file() {
+        return file;
+    }
+
+    /**
+     * Copies the default file to the config location if there is no config file yet
+     *
+     * @return {@code false} if the default file could not be copied
+     */
+    boolean copyDefaults() {
+        if (file.exists() || defaults == null) return true;
+        file.getParentFile().mkdirs();
+        try {
+            file.createNewFile();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not create Config file: " + filePath, e);
+            return false;
+        }
+        try (var in = defaults.get(); var out = new FileOutputStream(file)) {
+            if (in == null) {
+                plugin.getLogger().log(Level.SEVERE, "Resource in Jar not found: " + filePath);
+                return false;
+            }
+            out.write(in.readAllBytes());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not write the default Config to the newly created config file: " + filePath, e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes data to the file on the I/O scheduler of the plugin
+     *
+     * @param data the serialized config
+     * @return a future that completes once the data or newer data is written
+     */
+    CompletableFuture<Void> write(final byte[] data) {
+        final CompletableFuture<Void> written = new CompletableFuture<>();
+        pendingWrite.set(data);
+        lastWrite = written;
+        IoScheduler.executor(plugin).execute(() -> {
+            writeLock.lock();
+            try {
+                final byte[] newest = pendingWrite.getAndSet(null);
+                if (newest == null) return; // already written by a later write
+                Files.createDirectories(file.getParentFile().toPath());
+                Files.write(file.toPath(), newest);
+            } catch (final IOException ex) {
+                plugin.getLogger().log(Level.SEVERE, ex, () -> "Could not save config to " + file);
+            } finally {
+                writeLock.unlock();
+                written.complete(null);
+            }
+        });
+        return written;
+    }
+
+    /**
+     * Gets a future that completes once every write that was started before is done
+     *
+     * @return the future of the last write
+     */
+    CompletableFuture<Void> whenWritten() {
+        return lastWrite;
+    }
+}
@@ -0,0 +1,51 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * A storage format for {@link FormatFileConfig}.
+ * <p>
+ * The values are plain trees of {@code Map}s with {@code String} keys, {@code List}s, {@code String}s, numbers and
+ * {@code Boolean}s. {@code ConfigurationSerializable} objects are represented as maps with their alias under the
+ * {@code ==} key, the same way they are stored in yaml.
+ */
+public interface ConfigFormat {
+    /**
+     * Human readable yaml, the same format {@link YamlFileConfig} uses.
+     * Comments are not kept, so files that are edited by humans should use {@link YamlFileConfig} instead
+     */
+    ConfigFormat YAML = new YamlConfigFormat();
+    /**
+     * Compact json, read and written with a streaming parser
+     */
+    ConfigFormat JSON = new JsonConfigFormat();
+    /**
+     * A binary format for machine written data that is the fastest to read and write
+     */
+    ConfigFormat BINARY = new BinaryConfigFormat();
+
+    /**
+     * Reads all values from a stream
+     *
+     * @param in the stream to read from
+     * @return the values by their key
+     * @throws IOException                   if the stream could not be read
+     * @throws InvalidConfigurationException if the content is not valid for this format
+     */
+    @NotNull Map<String, Object> read(@NotNull InputStream in) throws IOException, InvalidConfigurationException;
+
+    /**
+     * Writes all values to a stream
+     *
+     * @param values the values by their key
+     * @param out    the stream to write to
+     * @throws IOException if the stream could not be written to or a value is not supported by this format
+     */
+    void write(@NotNull Map<String, Object> values, @NotNull OutputStream out) throws IOException;
+}
@@ -0,0 +1,196 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The journal file format and the compaction protocol of {@link JournaledYamlFileConfig}.
+ * <p>
+ * A record is the path as modified UTF-8, a boolean that is {@code false} for a removed value and otherwise the
+ * length and the UTF-8 bytes of a yaml document that holds the value.
+ */
+final class ConfigJournal {
+    private static final String VALUE_KEY = "v";
+
+    private ConfigJournal() {
+    }
+
+    /**
+     * Gets the journal file of a config file
+     *
+     * @param configFile the config file
+     * @return the journal file
+     */
+    static File journalFile(final File configFile) {
+        return new File(configFile.getPath() + ".journal");
+    }
+
+    /**
+     * Gets the file the journal is moved to while a compaction moves the compacted file into place
+     *
+     * @param configFile the config file
+     * @return the old journal file
+     */
+    static File oldJournalFile(final File configFile) {
+        return new File(configFile.getPath() + ".journal.old");
+    }
+
+    /**
+     * Gets the file a compaction writes the whole config to before it is moved into place
+     *
+     * @param configFile the config file
+     * @return the compacted file
+     */
+    static File compactedFile(final File configFile) {
+        return new File(configFile.getPath() + ".tmp");
+    }
+
+    /**
+     * Writes a record of a change
+     *
+     * @param out   the stream to write to
+     * @param path  the path that was changed
+     * @param value the new value, {@code null} if it was removed
+     * @throws IOException if the stream can not be written to
+     */
+    static void writeRecord(final DataOutputStream out, final String path, final @Nullable Object value) throws IOException {
+        out.writeUTF(path);
+        out.writeBoolean(value != null);
+        if (value == null) return;
+        final YamlConfiguration record = new YamlConfiguration();
+        record.set(VALUE_KEY, value instanceof ConfigurationSection section ? toMap(section) : value);
+        final byte[] data = record.saveToString().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    /**
+     * Applies all records of a journal in order, the records before an incomplete last record are applied
+     *
+     * @param in     the journal
+     * @param target the section the records are applied to
+     * @throws EOFException                   if the last record is incomplete
+     * @throws IOException                    if the journal can not be read
+     * @throws InvalidConfigurationException if a value is not valid yaml
+     */
+    static void replay(final InputStream in, final ConfigurationSection target) throws IOException, InvalidConfigurationException {
+        final PushbackInputStream pushback = new PushbackInputStream(in);
+        final DataInputStream data = new DataInputStream(pushback);
+        while (true) {
+            // only the end of the stream before a record is a complete journal
+            final int next = pushback.read();
+            if (next < 0) return;
+            pushback.unread(next);
+            final String path = data.readUTF();
+            if (!data.readBoolean()) {
+                target.set(path, null);
+                continue;
+            }
+            final int length = data.readInt();
+            if (length < 0) throw new InvalidConfigurationException("Negative record length " + length);
+            final byte[] value = data.readNBytes(length);
+            if (value.length < length) throw new EOFException();
+            final YamlConfiguration record = new YamlConfiguration();
+            record.loadFromString(new String(value, StandardCharsets.UTF_8));
+            final Object recorded = record.get(VALUE_KEY);
+            if (recorded instanceof ConfigurationSection section) target.createSection(path, toMap(section));
+            else target.set(path, recorded);
+        }
+    }
+
+    /**
+     * Appends records to the journal and syncs them to the disc
+     *
+     * @param configFile the config file
+     * @param records    the records
+     * @throws IOException if the journal can not be written
+     */
+    static void append(final File configFile, final byte[] records) throws IOException {
+        configFile.getParentFile().mkdirs();
+        try (var out = new FileOutputStream(journalFile(configFile), true)) {
+            out.write(records);
+            out.getFD().sync();
+        }
+    }
+
+    /**
+     * Replaces the config file with the whole config and removes the journal.
+     * <p>
+     * The compacted file is written completely, then the journal is moved to the old journal, the compacted file is
+     * moved into place and the old journal is deleted, so {@link #recoverCompaction(File)} can finish or discard the
+     * compaction after a crash at any point.
+     *
+     * @param configFile the config file
+     * @param data       the serialized config
+     * @throws IOException if a file can not be written or moved
+     */
+    static void writeCompacted(final File configFile, final String data) throws IOException {
+        final File compacted = compactedFile(configFile);
+        configFile.getParentFile().mkdirs();
+        try (var out = new FileOutputStream(compacted)) {
+            out.write(data.getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        }
+        final File journal = journalFile(configFile);
+        final File oldJournal = oldJournalFile(configFile);
+        if (journal.exists()) move(journal, oldJournal);
+        move(compacted, configFile);
+        Files.deleteIfExists(oldJournal.toPath());
+    }
+
+    /**
+     * Finishes or discards a compaction that was interrupted by a crash.
+     * <p>
+     * If the old journal still exists, the compacted file either still has to be moved into place or it was already
+     * moved and the old journal is stale, in both cases the old journal must not be replayed. Without an old journal
+     * the compaction was interrupted before the journal was moved, so the journal is still complete and the compacted
+     * file is discarded.
+     *
+     * @param configFile the config file
+     * @throws IOException if a file can not be moved or deleted
+     */
+    static void recoverCompaction(final File configFile) throws IOException {
+        final File oldJournal = oldJournalFile(configFile);
+        final File compacted = compactedFile(configFile);
+        if (oldJournal.exists()) {
+            if (compacted.exists()) move(compacted, configFile);
+            Files.delete(oldJournal.toPath());
+        } else {
+            Files.deleteIfExists(compacted.toPath());
+        }
+    }
+
+    private static void move(final File from, final File to) throws IOException {
+        try {
+            Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Map<String, Object> toMap(final ConfigurationSection section) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        for (final String key : section.getKeys(false)) {
+            final Object value = section.get(key);
+            result.put(key, value instanceof ConfigurationSection child ? toMap(child) : value);
+        }
+        return result;
+    }
+}
@@ -1,17 +1,19 @@
 package at.hugob.plugin.library.config;
 
 import com.destroystokyo.paper.profile.PlayerProfile;
-import com.destroystokyo.paper.profile.ProfileProperty;
 import io.papermc.paper.datacomponent.DataComponentTypes;
 import io.papermc.paper.registry.keys.tags.ItemTypeTagKeys;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.pointer.Pointered;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
 import net.kyori.adventure.text.TextReplacementConfig;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.minimessage.Context;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.serializer.ComponentSerializer;
 import org.bukkit.Bukkit;
@@ -32,10 +34,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -306,11 +311,7 @@ public class ConfigUtils {
             List<String> strings = config.getStringList(path);
             if (strings.isEmpty()) return Component.empty();
 
-            Iterator<T> componentIterator = strings.stream().map(serializer::deserialize).iterator();
-            result = Component.empty().append(componentIterator.next());
-            while (componentIterator.hasNext()) {
-                result = result.append(Component.newline()).append(componentIterator.next());
-            }
+            result = Component.join(JoinConfiguration.newlines(), strings.stream().map(serializer::deserialize).toList());
         } else {
             return Component.empty();
         }
@@ -475,6 +476,31 @@ public class ConfigUtils {
             .toList();
     }
 
+    /**
+     * Lazily parses the lines of a component from the config at a specific path, each line is only parsed when the
+     * stream reaches it, so a page of a long text can be taken with {@code skip} and {@code limit}
+     * <p>
+     * Unlike {@link #getComponent(ConfigurationSection, String, TagResolver, Pointered)} the lines do not inherit the
+     * style of the first line
+     *
+     * @param config      The config to parse from
+     * @param path        The path where the lines should be parsed from
+     * @param tagResolver An optional TagResolver to use
+     * @param target      An optional target to use
+     * @return the lines of the component, an empty stream when there is no text at the path
+     */
+    public static @NotNull Stream<Component> streamComponents(
+        @NotNull final ConfigurationSection config, @NotNull final String path,
+        final @Nullable TagResolver tagResolver, @Nullable Pointered target
+    ) {
+        final List<String> lines;
+        if (config.isString(path)) lines = List.of(config.getString(path));
+        else if (config.isList(path)) lines = config.getStringList(path);
+        else return Stream.empty();
+        return lines.stream()
+            .map(s -> parseComponent(config, s, MiniMsgLegacyHybridSerializer.INSTANCE, tagResolver, target, new ArrayList<>(List.of(path))));
+    }
+
     /**
      * Parses a list of texts into a List of Components seperated by new lines and tries to parse any references ({@code <ref:'<path>'>}) that it finds
      *
@@ -505,10 +531,79 @@ public class ConfigUtils {
         final @Nullable TagResolver tagResolver, @Nullable Pointered target,
         @NotNull List<String> vistedSubSections
     ) {
-        return text.stream()
+        final Iterator<Component> lines = text.stream()
             .map(s -> parseComponent(config, s, serializer, tagResolver, target, vistedSubSections))
-            .reduce((c1, c2) -> c1.append(Component.newline()).append(c2))
-            .orElse(Component.empty());
+            .iterator();
+        if (!lines.hasNext()) return Component.empty();
+        // the other lines are children of the first line, so they inherit its style, appended at once to stay linear
+        final Component first = lines.next();
+        final List<Component> children = new ArrayList<>(first.children());
+        while (lines.hasNext()) {
+            children.add(Component.newline());
+            children.add(lines.next());
+        }
+        return first.children(children);
+    }
+
+    /**
+     * Parses every string and string list in a config into a cache and collects the problems of the messages.
+     * <p>
+     * MiniMessage renders broken tags and references as text instead of failing, so the messages are also checked for
+     * references to paths that are not strings and for tags that are never closed with {@code >}.
+     * Messages with problems are not cached.
+     *
+     * @param config the config to parse
+     * @param cache  the map the parsed components are put in by their path
+     * @return the problems by the path of the message
+     */
+    static @NotNull Map<String, RuntimeException> precompile(
+        @NotNull final ConfigurationSection config, @NotNull final Map<String, Component> cache
+    ) {
+        final Set<String> paths = new LinkedHashSet<>(config.getKeys(true));
+        final ConfigurationSection defaults = config.getDefaultSection();
+        if (defaults != null) paths.addAll(defaults.getKeys(true));
+        final Map<String, RuntimeException> failures = new ConcurrentSkipListMap<>();
+        paths.parallelStream()
+            .filter(path -> config.isString(path) || config.isList(path) && config.getList(path).stream().allMatch(String.class::isInstance))
+            .forEach(path -> {
+                final List<String> problems = new ArrayList<>();
+                final List<String> lines = config.isString(path) ? List.of(config.getString(path)) : config.getStringList(path);
+                for (final String line : lines) {
+                    final String translated = MiniMsgLegacyHybridSerializer.parseLegacy(line);
+                    final int unclosed = MiniMsgLegacyHybridSerializer.findUnclosedTag(translated);
+                    if (unclosed >= 0) problems.add(String.format("unclosed tag \"%s\"", translated.substring(unclosed)));
+                }
+                try {
+                    final Component component = getComponent(config, path, MiniMsgLegacyHybridSerializer.INSTANCE, referenceChecker(config, problems), null);
+                    if (problems.isEmpty()) cache.put(path, component);
+                    else failures.put(path, new IllegalArgumentException(String.join(", ", problems)));
+                } catch (final RuntimeException e) {
+                    failures.put(path, e);
+                }
+            });
+        return failures;
+    }
+
+    /**
+     * Creates a resolver that records every {@code <ref>} tag that can not be resolved, it resolves no tags itself
+     */
+    private static @NotNull TagResolver referenceChecker(@NotNull final ConfigurationSection config, @NotNull final List<String> problems) {
+        return new TagResolver() {
+            @Override
+            public @Nullable Tag resolve(@NotNull final String name, @NotNull final ArgumentQueue arguments, @NotNull final Context ctx) {
+                if (!has(name)) return null;
+                final Tag.Argument reference = arguments.peek();
+                if (reference == null) problems.add("reference without a path");
+                else if (!config.isString(reference.value())) problems.add(String.format("reference \"%s\" not found", reference.value()));
+                // the resolver of the references resolves the tag or renders it as text
+                return null;
+            }
+
+            @Override
+            public boolean has(@NotNull final String name) {
+                return name.equals("ref");
+            }
+        };
     }
 
     private static @NotNull TagResolver createSubSectionResolver(
@@ -539,11 +634,6 @@ public class ConfigUtils {
         return getItemStack(itemConfig);
     }
 
-    /**
-     * Profile texture property name
-     */
-    private static final String TEXTURES = "textures";
-
     /**
      * Gets an {@code ItemStack} from an {@code ConfigurationSection}
      *
@@ -570,23 +660,13 @@ public class ConfigUtils {
             itemMeta.setUnbreakable(config.getBoolean("unbreakable"));
         // Apply Head Meta if applicable
         if (itemMeta instanceof final SkullMeta skullMeta) {
-            final UUID headUuid = ConfigUtils.getUUID(config, "texture.uuid");
-            if (headUuid != null)
-                skullMeta.setPlayerProfile(Bukkit.createProfile(headUuid));
-            if (config.isString("texture.data")) {
-                final ProfileProperty headTexture;
-                if (config.isString("texture.signature")) {
-                    headTexture = new ProfileProperty(TEXTURES, config.getString("texture.data"), config.getString("texture.signature"));
-                } else {
-                    headTexture = new ProfileProperty(TEXTURES, config.getString("texture.data"));
-                }
-                PlayerProfile profile = skullMeta.getPlayerProfile();
-                if (profile == null) {
-                    profile = Bukkit.createProfile(null, null);
-                }
-                profile.setProperty(headTexture);
+            final PlayerProfile profile = HeadProfileCache.getProfile(
+                ConfigUtils.getUUID(config, "texture.uuid"),
+                config.isString("texture.data") ? config.getString("texture.data") : null,
+                config.isString("texture.signature") ? config.getString("texture.signature") : null
+            );
+            if (profile != null)
                 skullMeta.setPlayerProfile(profile);
-            }
         }
         itemStack.setItemMeta(itemMeta);
         return itemStack;
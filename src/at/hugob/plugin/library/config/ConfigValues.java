@@ -0,0 +1,78 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between config values and the plain value trees of a {@link ConfigFormat}
+ */
+final class ConfigValues {
+    private ConfigValues() {
+    }
+
+    /**
+     * Converts the own values of a section into a plain tree
+     *
+     * @param section the section to convert
+     * @return the plain values by their key
+     */
+    static Map<String, Object> toPlain(final ConfigurationSection section) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        section.getValues(false).forEach((key, value) -> result.put(key, toPlain(value)));
+        return result;
+    }
+
+    /**
+     * Converts a config value into a plain value
+     *
+     * @param value the value to convert
+     * @return the plain value
+     */
+    static Object toPlain(final Object value) {
+        if (value instanceof ConfigurationSection section) {
+            return toPlain(section);
+        } else if (value instanceof ConfigurationSerializable serializable) {
+            final Map<String, Object> result = new LinkedHashMap<>();
+            result.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY, ConfigurationSerialization.getAlias(serializable.getClass()));
+            serializable.serialize().forEach((key, child) -> result.put(key, toPlain(child)));
+            return result;
+        } else if (value instanceof Map<?, ?> map) {
+            final Map<String, Object> result = new LinkedHashMap<>();
+            map.forEach((key, child) -> result.put(String.valueOf(key), toPlain(child)));
+            return result;
+        } else if (value instanceof List<?> list) {
+            final List<Object> result = new ArrayList<>(list.size());
+            for (final Object child : list) result.add(toPlain(child));
+            return result;
+        }
+        return value;
+    }
+
+    /**
+     * Converts a plain value back into a config value, deserializing all {@code ConfigurationSerializable}s
+     *
+     * @param value the plain value
+     * @return the config value
+     */
+    static Object fromPlain(final Object value) {
+        if (value instanceof Map<?, ?> map) {
+            final Map<String, Object> result = new LinkedHashMap<>();
+            map.forEach((key, child) -> result.put(String.valueOf(key), fromPlain(child)));
+            if (result.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)) {
+                return ConfigurationSerialization.deserializeObject(result);
+            }
+            return result;
+        } else if (value instanceof List<?> list) {
+            final List<Object> result = new ArrayList<>(list.size());
+            for (final Object child : list) result.add(fromPlain(child));
+            return result;
+        }
+        return value;
+    }
+}
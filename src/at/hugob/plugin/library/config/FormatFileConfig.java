@@ -0,0 +1,159 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * A file backed config like {@link YamlFileConfig} that is stored in a selectable {@link ConfigFormat},
+ * e.g. json or binary for bulk data written by the plugin.
+ * <p>
+ * Comments are not kept, files that are edited by humans should use {@link YamlFileConfig} instead.
+ */
+public class FormatFileConfig extends MemoryConfiguration implements ComponentConfig {
+
+    private final String filePath;
+    private final JavaPlugin plugin;
+    private final ConfigFormat format;
+    private final Supplier<InputStream> inputStream;
+    private final ConfigFile file;
+
+    /**
+     * Creates a FormatFileConfig at the specified path inside the plugins folder
+     *
+     * @param plugin   the Plugin that creates the config
+     * @param filePath the path to the config
+     * @param format   the format the file is stored in
+     */
+    public FormatFileConfig(final JavaPlugin plugin, final String filePath, final ConfigFormat format) {
+        this(plugin, filePath, format, () -> plugin.getResource(filePath));
+    }
+
+    /**
+     * Creates a FormatFileConfig at the specified path inside the plugins folder
+     * with a specific input stream for where the default file comes from
+     *
+     * @param plugin      the Plugin that creates the config
+     * @param filePath    the path to the config
+     * @param format      the format the file and the default file are stored in
+     * @param inputStream the input stream that gets the default config file
+     */
+    public FormatFileConfig(final JavaPlugin plugin, final String filePath, final ConfigFormat format, final @Nullable Supplier<InputStream> inputStream) {
+        this.inputStream = inputStream;
+        this.filePath = filePath;
+        this.format = format;
+        this.file = new ConfigFile(plugin, filePath, inputStream);
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Reload the config file from the disc or copies the default config file to the config location and loads that
+     */
+    public void reload() {
+        if (!file.copyDefaults()) return;
+        final File configFile = file.file();
+        final Map<String, Object> values;
+        if (configFile.exists()) {
+            try (var in = new BufferedInputStream(new FileInputStream(configFile))) {
+                values = format.read(in);
+            } catch (IOException | InvalidConfigurationException e) {
+                plugin.getLogger().log(Level.SEVERE, String.format("Could not load Config from \"%s\"", filePath), e);
+                return;
+            }
+        } else {
+            values = Collections.emptyMap();
+        }
+        map.clear();
+        apply(values, this);
+        if (inputStream != null) {
+            try (InputStream defConfigStream = inputStream.get()) {
+                if (defConfigStream != null) {
+                    final MemoryConfiguration defaults = new MemoryConfiguration();
+                    apply(format.read(defConfigStream), defaults);
+                    setDefaults(defaults);
+                }
+            } catch (IOException | InvalidConfigurationException e) {
+                plugin.getLogger().log(Level.SEVERE, String.format("Could not load the Default config for \"%s\"", filePath), e);
+            }
+        }
+    }
+
+    private static void apply(final Map<String, Object> values, final ConfigurationSection section) {
+        values.forEach((key, value) -> {
+            final Object converted = ConfigValues.fromPlain(value);
+            if (converted instanceof Map<?, ?> map) section.createSection(key, map);
+            else section.set(key, converted);
+        });
+    }
+
+    /**
+     * Serializes the config into the format of this file
+     *
+     * @return the serialized config
+     * @throws IOException if a value is not supported by the format
+     */
+    public byte[] saveToBytes() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        format.write(ConfigValues.toPlain(this), out);
+        return out.toByteArray();
+    }
+
+    /**
+     * saves the config file to the disc
+     * <p>
+     * The config is serialized on the calling thread and if multiple saves are queued only the newest one is written
+     */
+    public void save() {
+        try {
+            file.write(saveToBytes());
+        } catch (final IOException ex) {
+            plugin.getLogger().log(Level.SEVERE, ex, () -> "Could not save config to " + file.file());
+        }
+    }
+
+    /**
+     * Gets a future that completes once every save that was started before is written to the disc
+     *
+     * @return the future of the last save
+     */
+    public @NotNull CompletableFuture<Void> whenSaved() {
+        return file.whenWritten();
+    }
+
+    /**
+     * Gets the format this config is stored in
+     *
+     * @return the format
+     */
+    public @NotNull ConfigFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public @Nullable ItemStack getItemStack(@NotNull String path) {
+        return ConfigUtils.getItemStack(this, path);
+    }
+
+    @Override
+    public @Nullable ItemStack getItemStack(@NotNull String path, @Nullable ItemStack def) {
+        return Objects.requireNonNullElse(getItemStack(path), def);
+    }
+}
@@ -0,0 +1,117 @@
+package at.hugob.plugin.library.config;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * A shared cache of the {@code PlayerProfile}s used for the heads created by {@link ConfigUtils#getItemStack(ConfigurationSection)}
+ */
+public final class HeadProfileCache {
+    /**
+     * Profile texture property name
+     */
+    private static final String TEXTURES = "textures";
+
+    private static final Map<ProfileKey, PlayerProfile> PROFILES = new ConcurrentHashMap<>();
+
+    private HeadProfileCache() {
+    }
+
+    /**
+     * Gets the prepared profile for a head, creating it if it is not cached yet
+     * <p>
+     * The returned profile is shared and must not be modified
+     *
+     * @param uuid             the uuid of the profile
+     * @param textureData      the base64 texture value
+     * @param textureSignature the signature of the texture value
+     * @return the profile, {@code null} when neither a uuid nor texture data is given
+     */
+    public static @Nullable PlayerProfile getProfile(
+        @Nullable final UUID uuid, @Nullable final String textureData, @Nullable final String textureSignature
+    ) {
+        if (uuid == null && textureData == null) return null;
+        final ProfileKey key = new ProfileKey(uuid, textureData, textureData == null ? null : textureSignature);
+        return PROFILES.computeIfAbsent(key, HeadProfileCache::createProfile);
+    }
+
+    private static PlayerProfile createProfile(final ProfileKey key) {
+        final PlayerProfile profile = key.uuid() != null ? Bukkit.createProfile(key.uuid()) : Bukkit.createProfile(null, null);
+        if (key.textureData() != null) {
+            if (key.textureSignature() != null) {
+                profile.setProperty(new ProfileProperty(TEXTURES, key.textureData(), key.textureSignature()));
+            } else {
+                profile.setProperty(new ProfileProperty(TEXTURES, key.textureData()));
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Completes the profiles of heads that only have a uuid asynchronously, so they already have their texture
+     * the first time they are shown
+     * <p>
+     * The lookups block on the session server, so they run on the async scheduler of the server instead of the
+     * config I/O executor of the plugin
+     *
+     * @param plugin the plugin that schedules the tasks
+     * @param uuids  the uuids of the profiles to complete
+     * @return a future that completes once all profiles are completed
+     */
+    public static @NotNull CompletableFuture<Void> prewarm(@NotNull final Plugin plugin, @NotNull final Collection<UUID> uuids) {
+        final Executor executor = IoScheduler.serverExecutor(plugin);
+        return CompletableFuture.allOf(new LinkedHashSet<>(uuids).stream()
+            .map(uuid -> CompletableFuture.runAsync(() -> {
+                final PlayerProfile profile = Bukkit.createProfile(uuid);
+                if (profile.complete(true)) PROFILES.put(new ProfileKey(uuid, null, null), profile);
+            }, executor))
+            .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Completes the profiles of all heads in a {@code ConfigurationSection} that only have a {@code texture.uuid}
+     * asynchronously, so they already have their texture the first time they are shown
+     *
+     * @param plugin the plugin that schedules the tasks
+     * @param config the {@code ConfigurationSection} that is searched for heads
+     * @return a future that completes once all profiles are completed
+     */
+    public static @NotNull CompletableFuture<Void> prewarm(@NotNull final Plugin plugin, @NotNull final ConfigurationSection config) {
+        final Set<UUID> uuids = new LinkedHashSet<>();
+        for (final String path : config.getKeys(true)) {
+            if (!path.equals("texture") && !path.endsWith(".texture")) continue;
+            final ConfigurationSection texture = config.getConfigurationSection(path);
+            if (texture == null || texture.isString("data") || !texture.isString("uuid")) continue;
+            try {
+                uuids.add(UUID.fromString(texture.getString("uuid")));
+            } catch (final IllegalArgumentException e) {
+                Bukkit.getLogger().warning(() -> String.format("\"%s\" is not a valid UUID!", texture.getString("uuid")));
+            }
+        }
+        return prewarm(plugin, uuids);
+    }
+
+    /**
+     * Removes all cached profiles
+     */
+    public static void clear() {
+        PROFILES.clear();
+    }
+
+    private record ProfileKey(@Nullable UUID uuid, @Nullable String textureData, @Nullable String textureSignature) {
+    }
+}
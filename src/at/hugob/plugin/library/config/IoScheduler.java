@@ -0,0 +1,180 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * The executors that run the file I/O of the configs of this library.
+ * <p>
+ * By default every plugin gets its own virtual thread executor that runs at most
+ * {@value #DEFAULT_MAX_CONCURRENCY} tasks at once, so config I/O does not compete with other tasks in the shared
+ * async pool of the server. When the plugin gets disabled the executor waits for the queued tasks and is removed,
+ * while a plugin is disabled every task runs on the calling thread, so saves in {@code onDisable} are written before
+ * the server stops.
+ */
+public final class IoScheduler {
+    /**
+     * The maximum amount of concurrently running I/O tasks per plugin by default
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final boolean FOLIA = isFolia();
+
+    private static final Map<Plugin, Executor> EXECUTORS = new ConcurrentHashMap<>();
+
+    private IoScheduler() {
+    }
+
+    /**
+     * Gets the executor that runs the I/O tasks of a plugin, creating the default one if there is none yet
+     *
+     * @param plugin the plugin that owns the tasks
+     * @return the executor of the plugin, an executor that runs the tasks on the calling thread if the plugin is disabled
+     */
+    public static @NotNull Executor executor(@NotNull final Plugin plugin) {
+        // nothing is cached for disabled plugins, so no executor outlives the plugin without a listener that shuts it down
+        if (!plugin.isEnabled()) return Runnable::run;
+        final Executor executor = EXECUTORS.get(plugin);
+        if (executor != null) return executor;
+        return install(plugin, new BoundedExecutor(plugin, DEFAULT_MAX_CONCURRENCY), false);
+    }
+
+    /**
+     * Sets how many I/O tasks of a plugin can run at once, replacing its current executor
+     *
+     * @param plugin         the plugin that owns the tasks
+     * @param maxConcurrency the maximum amount of concurrently running tasks
+     */
+    public static void setMaxConcurrency(@NotNull final Plugin plugin, final int maxConcurrency) {
+        if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        install(plugin, new BoundedExecutor(plugin, maxConcurrency), true);
+    }
+
+    /**
+     * Runs the I/O tasks of a plugin on the async scheduler of the server instead of a dedicated executor,
+     * this is the async scheduler of Folia when it is running on Folia
+     *
+     * @param plugin the plugin that owns the tasks
+     */
+    public static void useServerScheduler(@NotNull final Plugin plugin) {
+        install(plugin, serverExecutor(plugin), true);
+    }
+
+    /**
+     * Gets an executor that runs tasks on the async scheduler of the server, which is the async scheduler of Folia
+     * when it is running on Folia, or on the calling thread if the plugin is disabled
+     *
+     * @param plugin the plugin that owns the tasks
+     * @return the executor
+     */
+    static @NotNull Executor serverExecutor(@NotNull final Plugin plugin) {
+        return task -> {
+            if (!plugin.isEnabled()) task.run();
+            else if (FOLIA) Bukkit.getAsyncScheduler().runNow(plugin, scheduledTask -> task.run());
+            else Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+        };
+    }
+
+    /**
+     * Waits for the queued I/O tasks of a plugin and removes its executor,
+     * this is done automatically when the plugin gets disabled
+     *
+     * @param plugin the plugin that owns the tasks
+     */
+    public static void shutdown(@NotNull final Plugin plugin) {
+        final Executor executor = EXECUTORS.remove(plugin);
+        if (executor instanceof BoundedExecutor bounded) bounded.shutdown();
+    }
+
+    private static Executor install(final Plugin plugin, final Executor executor, final boolean replace) {
+        if (!plugin.isEnabled()) {
+            if (executor instanceof BoundedExecutor bounded) bounded.shutdown();
+            throw new IllegalStateException(plugin.getName() + " is not enabled");
+        }
+        final Executor[] previous = new Executor[1];
+        final Executor installed = EXECUTORS.compute(plugin, (p, current) -> {
+            previous[0] = current;
+            return current == null || replace ? executor : current;
+        });
+        if (previous[0] == null) Bukkit.getPluginManager().registerEvents(new DisableListener(plugin), plugin);
+        if (installed != executor && executor instanceof BoundedExecutor bounded) bounded.shutdown();
+        if (replace && previous[0] instanceof BoundedExecutor bounded) bounded.shutdown();
+        return installed;
+    }
+
+    private static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private record DisableListener(Plugin plugin) implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPluginDisable(final PluginDisableEvent event) {
+            if (event.getPlugin() == plugin) IoScheduler.shutdown(plugin);
+        }
+    }
+
+    private static final class BoundedExecutor implements Executor {
+        private final Plugin plugin;
+        private final Semaphore permits;
+        private final ExecutorService threads;
+
+        private BoundedExecutor(final Plugin plugin, final int maxConcurrency) {
+            this.plugin = plugin;
+            this.permits = new Semaphore(maxConcurrency);
+            this.threads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(plugin.getName() + "-io-", 0).factory());
+        }
+
+        @Override
+        public void execute(@NotNull final Runnable task) {
+            if (!plugin.isEnabled() || threads.isShutdown()) {
+                task.run();
+                return;
+            }
+            try {
+                threads.execute(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        task.run();
+                    } catch (final RuntimeException e) {
+                        plugin.getLogger().log(Level.SEVERE, "An I/O task threw an exception", e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                task.run();
+            }
+        }
+
+        private void shutdown() {
+            threads.shutdown();
+            try {
+                if (!threads.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    plugin.getLogger().warning("Config I/O tasks did not finish within " + SHUTDOWN_TIMEOUT_SECONDS + " seconds");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A reverse index from {@code ItemType} to the entries of a {@code ConfigurationSection} that select it.
+ * <p>
+ * Every child section is an entry and its item selectors (see {@link ConfigUtils#getItemTypes(String)}) are read from
+ * the selector key, which can either be a single {@code String} or a {@code List<String>}.
+ * Call {@link #reload()} after the config got reloaded to rebuild the index.
+ *
+ * @param <T> the type of the entries
+ */
+public final class ItemTypeIndex<T> {
+    private final ConfigurationSection config;
+    private final @Nullable String path;
+    private final String selectorKey;
+    private final Function<ConfigurationSection, T> mapper;
+    private volatile Map<ItemType, List<T>> index = Collections.emptyMap();
+
+    private ItemTypeIndex(
+        final ConfigurationSection config, final @Nullable String path, final String selectorKey,
+        final Function<ConfigurationSection, T> mapper
+    ) {
+        this.config = config;
+        this.path = path;
+        this.selectorKey = selectorKey;
+        this.mapper = mapper;
+        reload();
+    }
+
+    /**
+     * Creates a builder for an index over the children of a {@code ConfigurationSection}
+     *
+     * @param config      the {@code ConfigurationSection} the entries are in
+     * @param selectorKey the key inside every entry that holds its item selectors
+     * @return the builder
+     */
+    public static @NotNull Builder builder(@NotNull final ConfigurationSection config, @NotNull final String selectorKey) {
+        return new Builder(config, selectorKey);
+    }
+
+    /**
+     * Rebuilds the index from the current content of the config
+     */
+    public void reload() {
+        final ConfigurationSection section = path == null ? config : config.getConfigurationSection(path);
+        if (section == null) {
+            index = Collections.emptyMap();
+            return;
+        }
+        final Map<ItemType, List<T>> result = new HashMap<>();
+        for (final String key : section.getKeys(false)) {
+            final ConfigurationSection entrySection = section.getConfigurationSection(key);
+            if (entrySection == null) continue;
+            final Collection<ItemType> itemTypes = getItemTypes(entrySection);
+            if (itemTypes.isEmpty()) continue;
+            final T entry = mapper.apply(entrySection);
+            for (final ItemType itemType : itemTypes) {
+                result.computeIfAbsent(itemType, k -> new ArrayList<>(1)).add(entry);
+            }
+        }
+        result.replaceAll((itemType, entries) -> List.copyOf(entries));
+        index = result;
+    }
+
+    private Collection<ItemType> getItemTypes(final ConfigurationSection entrySection) {
+        final Collection<ItemType> itemTypes;
+        if (entrySection.isList(selectorKey)) {
+            itemTypes = ConfigUtils.getItemTypes(entrySection, selectorKey);
+        } else if (entrySection.isString(selectorKey)) {
+            itemTypes = ConfigUtils.getItemTypes(entrySection.getString(selectorKey));
+        } else {
+            return Collections.emptyList();
+        }
+        if (itemTypes == null) return Collections.emptyList();
+        return new LinkedHashSet<>(itemTypes);
+    }
+
+    /**
+     * Gets all entries that select an {@code ItemType}
+     *
+     * @param itemType the {@code ItemType} to look up
+     * @return the entries in config order, an empty {@code List} if there are none
+     */
+    public @NotNull List<T> get(@NotNull final ItemType itemType) {
+        return index.getOrDefault(itemType, Collections.emptyList());
+    }
+
+    /**
+     * Gets all entries that select the {@code ItemType} of an {@code ItemStack}
+     *
+     * @param itemStack the {@code ItemStack} to look up
+     * @return the entries in config order, an empty {@code List} if there are none
+     */
+    public @NotNull List<T> get(@Nullable final ItemStack itemStack) {
+        if (itemStack == null) return Collections.emptyList();
+        final ItemType itemType = itemStack.getType().asItemType();
+        if (itemType == null) return Collections.emptyList();
+        return get(itemType);
+    }
+
+    /**
+     * Gets all {@code ItemType}s that have at least one entry
+     *
+     * @return the indexed {@code ItemType}s
+     */
+    public @NotNull Collection<ItemType> getItemTypes() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * A builder for an {@link ItemTypeIndex}
+     */
+    public static final class Builder {
+        private final ConfigurationSection config;
+        private final String selectorKey;
+        private @Nullable String path;
+
+        private Builder(final ConfigurationSection config, final String selectorKey) {
+            this.config = config;
+            this.selectorKey = selectorKey;
+        }
+
+        /**
+         * Sets the path of the section with the entries inside the config, it is looked up again on every reload
+         *
+         * @param path the path to the section with the entries
+         * @return this builder
+         */
+        public @NotNull Builder path(@Nullable final String path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Builds an index with the {@code ConfigurationSection}s of the entries
+         *
+         * @return the index
+         */
+        public @NotNull ItemTypeIndex<ConfigurationSection> build() {
+            return build(Function.identity());
+        }
+
+        /**
+         * Builds an index where every entry gets converted once per reload
+         *
+         * @param mapper converts the {@code ConfigurationSection} of an entry to the indexed value
+         * @param <T>    the type of the entries
+         * @return the index
+         */
+        public @NotNull <T> ItemTypeIndex<T> build(@NotNull final Function<ConfigurationSection, T> mapper) {
+            return new ItemTypeIndex<>(config, path, selectorKey, mapper);
+        }
+    }
+}
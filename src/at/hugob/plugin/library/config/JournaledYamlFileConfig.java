@@ -0,0 +1,219 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * A {@link YamlFileConfig} that does not rewrite the whole file on every save.
+ * <p>
+ * Every {@link #set(String, Object)} on this config is recorded in a journal file next to the config file.
+ * {@link #save()} appends the recorded changes to the journal and syncs them to the disc in one batch,
+ * once the journal grows past the compaction threshold the whole config is written and the journal is truncated.
+ * On load the journal is replayed on top of the yaml file. If the yaml file could not be loaded the journal is not
+ * replayed and the config is never compacted, so the unreadable file is not overwritten.
+ * <p>
+ * Only changes made through this object are recorded, if a sub section was modified directly it has to be
+ * set again on this config to be saved.
+ */
+public class JournaledYamlFileConfig extends YamlFileConfig {
+    private final long compactionThreshold;
+    private final ByteArrayOutputStream pending;
+    private final DataOutputStream pendingOut;
+    private volatile CompletableFuture<Void> ioQueue;
+    private boolean journaling;
+    private long journalSize;
+    private boolean broken;
+
+    /**
+     * Creates a JournaledYamlFileConfig at the specified path inside the plugins folder that compacts its journal
+     * once it is bigger than 1 MiB
+     *
+     * @param plugin   the Plugin that creates the config
+     * @param filePath the path to the config
+     */
+    public JournaledYamlFileConfig(final JavaPlugin plugin, final String filePath) {
+        this(plugin, filePath, () -> plugin.getResource(filePath), 1024 * 1024);
+    }
+
+    /**
+     * Creates a JournaledYamlFileConfig at the specified path inside the plugins folder
+     * with a specific input stream for where the default file comes from
+     *
+     * @param plugin              the Plugin that creates the config
+     * @param filePath            the path to the config
+     * @param inputStream         the input stream that gets the default config file
+     * @param compactionThreshold the size in bytes the journal can reach before the config file gets rewritten
+     */
+    public JournaledYamlFileConfig(final JavaPlugin plugin, final String filePath, final @Nullable Supplier<InputStream> inputStream, final long compactionThreshold) {
+        super(plugin, filePath, inputStream);
+        this.compactionThreshold = compactionThreshold;
+        this.pending = new ByteArrayOutputStream();
+        this.pendingOut = new DataOutputStream(pending);
+        this.ioQueue = CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Reload the config file from the disc and replays the journal on top of it
+     */
+    @Override
+    public void reload() {
+        // reload gets called by the super constructor before the fields of this class are initialized
+        if (ioQueue != null) ioQueue.join();
+        synchronized (this) {
+            if (pending != null) pending.reset();
+            journaling = false;
+            super.reload();
+            journaling = true;
+        }
+    }
+
+    @Override
+    protected boolean loadFile() {
+        recoverCompaction();
+        broken = !super.loadFile();
+        if (broken) {
+            getPlugin().getLogger().severe(() -> "Not replaying the journal of " + getConfigFile() + " and not compacting it until the config can be loaded");
+            journalSize = ConfigJournal.journalFile(getConfigFile()).length();
+            return false;
+        }
+        replayJournal();
+        return true;
+    }
+
+    @Override
+    public void set(@NotNull final String path, @Nullable final Object value) {
+        super.set(path, value);
+        if (journaling) record(path, value);
+    }
+
+    @Override
+    public @NotNull ConfigurationSection createSection(@NotNull final String path) {
+        final ConfigurationSection section = super.createSection(path);
+        if (journaling) record(path, section);
+        return section;
+    }
+
+    @Override
+    public @NotNull ConfigurationSection createSection(@NotNull final String path, @NotNull final Map<?, ?> map) {
+        final ConfigurationSection section = super.createSection(path, map);
+        if (journaling) record(path, section);
+        return section;
+    }
+
+    /**
+     * Appends all changes since the last save to the journal, compacting it if it got too big
+     */
+    @Override
+    public void save() {
+        final byte[] records;
+        final String snapshot;
+        synchronized (this) {
+            if (pending.size() == 0) return;
+            records = pending.toByteArray();
+            pending.reset();
+            journalSize += records.length;
+            if (journalSize > compactionThreshold && !broken) {
+                snapshot = saveToString();
+                journalSize = 0;
+            } else {
+                snapshot = null;
+            }
+        }
+        ioQueue = ioQueue.thenRunAsync(() -> {
+            try {
+                if (snapshot == null) ConfigJournal.append(getConfigFile(), records);
+                else ConfigJournal.writeCompacted(getConfigFile(), snapshot);
+            } catch (final IOException ex) {
+                getPlugin().getLogger().log(Level.SEVERE, ex, () -> "Could not save config to " + getConfigFile());
+            }
+        }, IoScheduler.executor(getPlugin())).exceptionally(ex -> {
+            getPlugin().getLogger().log(Level.SEVERE, ex, () -> "Could not schedule the save of " + getConfigFile());
+            return null;
+        });
+    }
+
+    /**
+     * Appends all changes since the last save to the journal, compacting it if it got too big
+     */
+    @Override
+    public void saveSync() {
+        save();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> whenSaved() {
+        return ioQueue;
+    }
+
+    /**
+     * Writes the whole config to the config file and truncates the journal on the current thread,
+     * e.g. when the plugin gets disabled
+     */
+    public void compact() {
+        ioQueue.join();
+        final String snapshot;
+        synchronized (this) {
+            if (broken) {
+                getPlugin().getLogger().severe(() -> "Not compacting " + getConfigFile() + " because it could not be loaded");
+                return;
+            }
+            pending.reset();
+            journalSize = 0;
+            snapshot = saveToString();
+        }
+        try {
+            ConfigJournal.writeCompacted(getConfigFile(), snapshot);
+        } catch (final IOException ex) {
+            getPlugin().getLogger().log(Level.SEVERE, ex, () -> "Could not save config to " + getConfigFile());
+        }
+    }
+
+    private synchronized void record(final String path, final @Nullable Object value) {
+        try {
+            ConfigJournal.writeRecord(pendingOut, path, value);
+        } catch (final IOException e) {
+            // a ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void replayJournal() {
+        final File journal = ConfigJournal.journalFile(getConfigFile());
+        if (!journal.exists()) {
+            journalSize = 0;
+            return;
+        }
+        try (var in = new BufferedInputStream(new FileInputStream(journal))) {
+            ConfigJournal.replay(in, this);
+        } catch (final EOFException e) {
+            getPlugin().getLogger().warning(() -> "Ignoring incomplete last entry of the journal " + journal);
+        } catch (IOException | InvalidConfigurationException e) {
+            getPlugin().getLogger().log(Level.SEVERE, String.format("Could not replay the journal \"%s\"", journal), e);
+        }
+        journalSize = journal.length();
+    }
+
+    private void recoverCompaction() {
+        try {
+            ConfigJournal.recoverCompaction(getConfigFile());
+        } catch (final IOException e) {
+            getPlugin().getLogger().log(Level.SEVERE, String.format("Could not recover the interrupted compaction of \"%s\"", getConfigFile()), e);
+        }
+    }
+}
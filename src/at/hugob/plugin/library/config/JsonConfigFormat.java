@@ -0,0 +1,123 @@
+package at.hugob.plugin.library.config;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The json {@link ConfigFormat}, read and written with Gsons streaming api
+ */
+final class JsonConfigFormat implements ConfigFormat {
+    @Override
+    public @NotNull Map<String, Object> read(@NotNull final InputStream in) throws IOException, InvalidConfigurationException {
+        final JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        try {
+            final JsonToken token;
+            try {
+                token = reader.peek();
+            } catch (final EOFException e) {
+                // an empty file is an empty config
+                return new LinkedHashMap<>();
+            }
+            if (token != JsonToken.BEGIN_OBJECT) throw new InvalidConfigurationException("The top level value is not a json object");
+            return readObject(reader);
+        } catch (final EOFException | MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new InvalidConfigurationException(e);
+        }
+    }
+
+    private static Map<String, Object> readObject(final JsonReader reader) throws IOException {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            result.put(reader.nextName(), readValue(reader));
+        }
+        reader.endObject();
+        return result;
+    }
+
+    private static Object readValue(final JsonReader reader) throws IOException {
+        return switch (reader.peek()) {
+            case BEGIN_OBJECT -> readObject(reader);
+            case BEGIN_ARRAY -> {
+                final List<Object> result = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    result.add(readValue(reader));
+                }
+                reader.endArray();
+                yield result;
+            }
+            case NUMBER -> parseNumber(reader.nextString());
+            case BOOLEAN -> reader.nextBoolean();
+            case NULL -> {
+                reader.nextNull();
+                yield null;
+            }
+            default -> reader.nextString();
+        };
+    }
+
+    private static Number parseNumber(final String number) {
+        if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+            return Double.parseDouble(number);
+        }
+        final long value = Long.parseLong(number);
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) return (int) value;
+        return value;
+    }
+
+    @Override
+    public void write(@NotNull final Map<String, Object> values, @NotNull final OutputStream out) throws IOException {
+        final JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+        writeValue(writer, values);
+        writer.flush();
+    }
+
+    private static void writeValue(final JsonWriter writer, final Object value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+        } else if (value instanceof Map<?, ?> map) {
+            writer.beginObject();
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                writer.name(String.valueOf(entry.getKey()));
+                writeValue(writer, entry.getValue());
+            }
+            writer.endObject();
+        } else if (value instanceof List<?> list) {
+            writer.beginArray();
+            for (final Object element : list) {
+                writeValue(writer, element);
+            }
+            writer.endArray();
+        } else if (value instanceof String || value instanceof Character) {
+            writer.value(value.toString());
+        } else if (value instanceof Number number) {
+            if (number instanceof Double d && !Double.isFinite(d) || number instanceof Float f && !Float.isFinite(f)) {
+                throw new IOException("Can not write the non finite number " + number + " as json");
+            }
+            writer.value(number);
+        } else if (value instanceof Boolean bool) {
+            writer.value(bool);
+        } else {
+            throw new IOException("Can not write a value of type " + value.getClass().getName() + " as json");
+        }
+    }
+}
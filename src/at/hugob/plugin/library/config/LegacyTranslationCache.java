@@ -0,0 +1,135 @@
+package at.hugob.plugin.library.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * A bounded, thread safe cache for the legacy to MiniMessage translation of {@link MiniMsgLegacyHybridSerializer}.
+ * <p>
+ * The entries are spread over independently locked segments that each evict their least recently used entry
+ * once they are full.
+ */
+public final class LegacyTranslationCache {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final int capacity;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    LegacyTranslationCache(final int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        this.capacity = capacity;
+        final int segmentCount = Integer.highestOneBit(Math.min(MAX_SEGMENTS, capacity));
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // the remainder is spread over the first segments, so the capacities add up to exactly the capacity
+            segments[i] = new Segment(capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0));
+        }
+    }
+
+    String get(final String input, final UnaryOperator<String> translator) {
+        final Segment segment = segmentFor(input);
+        String result;
+        synchronized (segment) {
+            result = segment.get(input);
+        }
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        result = translator.apply(input);
+        synchronized (segment) {
+            segment.put(input, result);
+        }
+        return result;
+    }
+
+    private Segment segmentFor(final String input) {
+        final int hash = input.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * Gets the maximum amount of entries this cache holds
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the amount of entries currently in this cache
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets how often a translation was found in this cache
+     *
+     * @return the amount of hits
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets how often a translation was not found in this cache
+     *
+     * @return the amount of misses
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the ratio of lookups that were found in this cache
+     *
+     * @return the hit rate between 0 and 1, 0 if there were no lookups yet
+     */
+    public double hitRate() {
+        final long hits = hitCount();
+        final long total = hits + missCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Removes all entries and resets the statistics
+     */
+    public void clear() {
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    private static final class Segment extends LinkedHashMap<String, String> {
+        private final int capacity;
+
+        private Segment(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            return size() > capacity;
+        }
+    }
+}
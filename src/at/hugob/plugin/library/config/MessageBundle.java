@@ -0,0 +1,187 @@
+package at.hugob.plugin.library.config;
+
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.pointer.Pointered;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Messages in multiple languages, one {@link YamlFileConfig} per locale inside a folder (e.g. {@code lang/de_AT.yml}).
+ * <p>
+ * A locale is loaded the first time a message is requested in it. Its fallback chain
+ * (e.g. {@code de_AT -> de -> en}) is merged into a single config on load, so a missing key does not walk the chain
+ * on every lookup. Components without a tag resolver are cached per locale and locales that were not used for the
+ * idle timeout are unloaded again.
+ */
+public class MessageBundle {
+    private final JavaPlugin plugin;
+    private final String directoryPath;
+    private final Locale defaultLocale;
+    private final long idleTimeoutMillis;
+    private final Map<Locale, LoadedLocale> locales = new ConcurrentHashMap<>();
+    private volatile long lastUnload = System.currentTimeMillis();
+
+    /**
+     * Creates a MessageBundle that unloads locales after 30 minutes without use
+     *
+     * @param plugin        the Plugin that creates the bundle
+     * @param directoryPath the path to the folder with the locale files
+     * @param defaultLocale the locale that is used when a key is missing in every other locale
+     */
+    public MessageBundle(final JavaPlugin plugin, final String directoryPath, final Locale defaultLocale) {
+        this(plugin, directoryPath, defaultLocale, Duration.ofMinutes(30));
+    }
+
+    /**
+     * Creates a MessageBundle
+     *
+     * @param plugin        the Plugin that creates the bundle
+     * @param directoryPath the path to the folder with the locale files
+     * @param defaultLocale the locale that is used when a key is missing in every other locale
+     * @param idleTimeout   how long a locale can be unused before it gets unloaded
+     */
+    public MessageBundle(final JavaPlugin plugin, final String directoryPath, final Locale defaultLocale, final Duration idleTimeout) {
+        this.plugin = plugin;
+        this.directoryPath = directoryPath;
+        this.defaultLocale = defaultLocale;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+    }
+
+    /**
+     * Unloads all locales, they are loaded again from the disc on their next use
+     */
+    public void reload() {
+        locales.clear();
+    }
+
+    /**
+     * Unloads all locales that were not used for the idle timeout
+     */
+    public void unloadIdle() {
+        final long now = System.currentTimeMillis();
+        lastUnload = now;
+        locales.values().removeIf(locale -> now - locale.lastAccess > idleTimeoutMillis);
+    }
+
+    /**
+     * Gets the merged config of a locale with all values of its fallback chain
+     *
+     * @param locale the locale
+     * @return the config of the locale
+     */
+    public @NotNull ConfigurationSection getConfig(@NotNull final Locale locale) {
+        return locale(locale).config;
+    }
+
+    /**
+     * Gets a Legacy/MiniMessage Hybrid Component at a specific path in the locale of a target
+     *
+     * @param target the target whose {@link Identity#LOCALE} is used
+     * @param path   the path the component
+     * @return the Component at the path
+     */
+    public @NotNull Component getComponent(@NotNull final Pointered target, @NotNull final String path) {
+        return getComponent(target.getOrDefault(Identity.LOCALE, defaultLocale), path);
+    }
+
+    /**
+     * Gets a Legacy/MiniMessage Hybrid Component at a specific path in a locale
+     *
+     * @param locale the locale of the message
+     * @param path   the path the component
+     * @return the Component at the path
+     */
+    public @NotNull Component getComponent(@NotNull final Locale locale, @NotNull final String path) {
+        final LoadedLocale loaded = locale(locale);
+        return loaded.components.computeIfAbsent(path, p -> ConfigUtils.getComponent(loaded.config, p));
+    }
+
+    /**
+     * Gets a Legacy/MiniMessage Hybrid Component at a specific path in the locale of a target
+     *
+     * @param target      the target whose {@link Identity#LOCALE} is used and that is used for the TagResolver
+     * @param path        the path the component
+     * @param tagResolver An optional TagResolver to use
+     * @return the Component at the path
+     */
+    public @NotNull Component getComponent(@NotNull final Pointered target, @NotNull final String path, @Nullable final TagResolver tagResolver) {
+        final Locale locale = target.getOrDefault(Identity.LOCALE, defaultLocale);
+        if (tagResolver == null) return getComponent(locale, path);
+        return ConfigUtils.getComponent(locale(locale).config, path, tagResolver, target);
+    }
+
+    private LoadedLocale locale(final Locale locale) {
+        final long now = System.currentTimeMillis();
+        if (now - lastUnload > idleTimeoutMillis) unloadIdle();
+        final LoadedLocale loaded = locales.computeIfAbsent(locale, this::load);
+        loaded.lastAccess = now;
+        return loaded;
+    }
+
+    private LoadedLocale load(final Locale locale) {
+        final MemoryConfiguration merged = new MemoryConfiguration();
+        final List<String> chain = new ArrayList<>(fallbackChain(locale));
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            final String filePath = directoryPath + "/" + chain.get(i) + ".yml";
+            if (!exists(filePath)) continue;
+            final YamlFileConfig config = new YamlFileConfig(plugin, filePath);
+            if (config.getDefaults() != null) merge(config.getDefaults(), merged);
+            merge(config, merged);
+        }
+        return new LoadedLocale(merged);
+    }
+
+    private Set<String> fallbackChain(final Locale locale) {
+        final Set<String> chain = new LinkedHashSet<>();
+        for (final Locale current : List.of(locale, defaultLocale)) {
+            if (!current.getVariant().isEmpty())
+                chain.add(current.getLanguage() + "_" + current.getCountry() + "_" + current.getVariant());
+            if (!current.getCountry().isEmpty())
+                chain.add(current.getLanguage() + "_" + current.getCountry());
+            chain.add(current.getLanguage());
+        }
+        return chain;
+    }
+
+    private boolean exists(final String filePath) {
+        if (new File(plugin.getDataFolder(), filePath).exists()) return true;
+        try (InputStream resource = plugin.getResource(filePath)) {
+            return resource != null;
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    private static void merge(final ConfigurationSection from, final ConfigurationSection to) {
+        from.getValues(true).forEach((path, value) -> {
+            if (!(value instanceof ConfigurationSection)) to.set(path, value);
+        });
+    }
+
+    private static final class LoadedLocale {
+        private final MemoryConfiguration config;
+        private final Map<String, Component> components = new ConcurrentHashMap<>();
+        private volatile long lastAccess;
+
+        private LoadedLocale(final MemoryConfiguration config) {
+            this.config = config;
+        }
+    }
+}
@@ -18,8 +18,38 @@ public class MiniMsgLegacyHybridSerializer {
         .preProcessor(MiniMsgLegacyHybridSerializer::parseLegacy)
         .build();
 
+    private static volatile LegacyTranslationCache cache;
+
     private MiniMsgLegacyHybridSerializer() {}
 
+    /**
+     * Enables caching of the results of {@link #parseLegacy(String)}, replacing the current cache if there is one
+     *
+     * @param capacity the maximum amount of cached strings
+     * @return the new cache, to read its statistics from
+     */
+    public static LegacyTranslationCache enableCache(int capacity) {
+        final LegacyTranslationCache newCache = new LegacyTranslationCache(capacity);
+        cache = newCache;
+        return newCache;
+    }
+
+    /**
+     * Disables caching of the results of {@link #parseLegacy(String)}
+     */
+    public static void disableCache() {
+        cache = null;
+    }
+
+    /**
+     * Gets the cache of {@link #parseLegacy(String)}
+     *
+     * @return the cache or null if caching is disabled
+     */
+    public static LegacyTranslationCache getCache() {
+        return cache;
+    }
+
     /**
      * Parses legacy &amp; tags to minimessage &lt;&gt; tags
      *
@@ -27,7 +57,45 @@ public class MiniMsgLegacyHybridSerializer {
      * @return the string without &amp; tags
      */
     public static String parseLegacy(String input) {
-        input = LEGACY_HEX_PATTERN.matcher(input).replaceAll(matchResult -> "<%s>".formatted(matchResult.group(1)));
+        final LegacyTranslationCache cache = MiniMsgLegacyHybridSerializer.cache;
+        if (cache == null) return translateLegacy(input);
+        return cache.get(input, MiniMsgLegacyHybridSerializer::translateLegacy);
+    }
+
+    /**
+     * Finds a tag that is never closed with {@code >}, MiniMessage renders such a tag as text
+     *
+     * @param input the MiniMessage string
+     * @return the index of the start of the unclosed tag, {@code -1} if all tags are closed
+     */
+    static int findUnclosedTag(final String input) {
+        int tagStart = -1;
+        char quote = 0;
+        for (int i = 0; i < input.length(); i++) {
+            final char c = input.charAt(i);
+            if (tagStart < 0) {
+                if (c == '\\') i++;
+                else if (c == '<' && i + 1 < input.length() && isTagStart(input.charAt(i + 1))) tagStart = i;
+            } else if (quote != 0) {
+                if (c == '\\') i++;
+                else if (c == quote) quote = 0;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '>') {
+                tagStart = -1;
+            } else if (c == '<') {
+                return tagStart;
+            }
+        }
+        return tagStart;
+    }
+
+    private static boolean isTagStart(final char c) {
+        return Character.isLetter(c) || c == '/' || c == '#' || c == '!' || c == '?' || c == '_';
+    }
+
+    private static String translateLegacy(String input) {
+        input = LEGACY_HEX_PATTERN.matcher(input).replaceAll(matchResult -> "<" + matchResult.group(1) + ">");
         return LEGACY_PATTERN.matcher(input).replaceAll(matchResult -> switch (matchResult.group(1).toLowerCase()) {
                 case "0" -> "<black>";
                 case "1" -> "<dark_blue>";
@@ -0,0 +1,233 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * A key value store that spreads its entries over many small yaml files inside a folder.
+ * <p>
+ * Shards are only loaded when a key inside them is accessed and only the shards that got changed are written back
+ * on {@link #save()}, so the cost of a save depends on the amount of changed entries and not on the total data size.
+ * <p>
+ * Every key is a top level entry of its shard, so the {@code ConfigurationSection}s returned by {@link #get(String)}
+ * and {@link #edit(String)} can be used with all the {@link ConfigUtils} helpers.
+ * This class is not thread safe and should only be used from the main thread.
+ */
+public class ShardedYamlStore {
+    private final JavaPlugin plugin;
+    private final String directoryPath;
+    private final File directory;
+    private final int shardCount;
+    private final Map<Integer, Shard> shards = new HashMap<>();
+
+    /**
+     * Creates a ShardedYamlStore with 64 shards in the specified folder inside the plugins folder
+     *
+     * @param plugin        the Plugin that creates the store
+     * @param directoryPath the path to the folder the shards are saved in
+     */
+    public ShardedYamlStore(final JavaPlugin plugin, final String directoryPath) {
+        this(plugin, directoryPath, 64);
+    }
+
+    /**
+     * Creates a ShardedYamlStore in the specified folder inside the plugins folder
+     * <p>
+     * The shard count decides which file a key is stored in, so it must not be changed once data was saved.
+     *
+     * @param plugin        the Plugin that creates the store
+     * @param directoryPath the path to the folder the shards are saved in
+     * @param shardCount    the amount of files the keys are spread over
+     */
+    public ShardedYamlStore(final JavaPlugin plugin, final String directoryPath, final int shardCount) {
+        if (shardCount < 1) throw new IllegalArgumentException("shardCount must be at least 1");
+        this.plugin = plugin;
+        this.directoryPath = directoryPath;
+        this.directory = new File(plugin.getDataFolder(), directoryPath);
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Gets the section stored at a key
+     *
+     * @param key the key of the entry
+     * @return the {@code ConfigurationSection} of the entry, {@code null} when there is no section at that key
+     */
+    public @Nullable ConfigurationSection get(@NotNull final String key) {
+        return shard(key).config.getConfigurationSection(key);
+    }
+
+    /**
+     * Gets the value stored at a key
+     *
+     * @param key the key of the entry
+     * @return the value of the entry, {@code null} when there is no value at that key
+     */
+    public @Nullable Object getValue(@NotNull final String key) {
+        return shard(key).config.get(key);
+    }
+
+    /**
+     * Gets the section stored at a key for modification, creating it if it does not exist yet
+     * <p>
+     * The shard of the key is marked as changed, so all modifications to the returned section are written on the
+     * next {@link #save()}
+     *
+     * @param key the key of the entry
+     * @return the {@code ConfigurationSection} of the entry
+     */
+    public @NotNull ConfigurationSection edit(@NotNull final String key) {
+        final Shard shard = shard(key);
+        shard.dirty = true;
+        final ConfigurationSection section = shard.config.getConfigurationSection(key);
+        if (section != null) return section;
+        return shard.config.createSection(key);
+    }
+
+    /**
+     * Sets the value of a key, {@code null} removes the entry
+     *
+     * @param key   the key of the entry
+     * @param value the new value
+     */
+    public void set(@NotNull final String key, @Nullable final Object value) {
+        final Shard shard = shard(key);
+        shard.config.set(key, value);
+        shard.dirty = true;
+    }
+
+    /**
+     * Checks if there is a value at a key
+     *
+     * @param key the key of the entry
+     * @return if there is a value at the key
+     */
+    public boolean contains(@NotNull final String key) {
+        return shard(key).config.contains(key);
+    }
+
+    /**
+     * Marks the shard of a key as changed, needed if a section from {@link #get(String)} got modified
+     *
+     * @param key the key of the entry that got changed
+     */
+    public void markDirty(@NotNull final String key) {
+        shard(key).dirty = true;
+    }
+
+    /**
+     * Gets all keys in this store, this loads every shard
+     *
+     * @return all keys of this store
+     */
+    public @NotNull Set<String> getKeys() {
+        final Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < shardCount; i++) {
+            keys.addAll(shard(i).config.getKeys(false));
+        }
+        return keys;
+    }
+
+    /**
+     * Unloads all shards that have no unsaved changes
+     */
+    public void unloadClean() {
+        shards.values().removeIf(shard -> !shard.dirty && shard.version == shard.writtenVersion);
+    }
+
+    /**
+     * Saves all changed shards asynchronously to the disc
+     */
+    public void save() {
+        for (final Shard shard : shards.values()) {
+            if (!shard.dirty) continue;
+            final String data = shard.config.saveToString();
+            final long version = ++shard.version;
+            shard.dirty = false;
+            IoScheduler.executor(plugin).execute(() -> write(shard, data, version));
+        }
+    }
+
+    /**
+     * Saves all changed shards on the current thread, e.g. when the plugin gets disabled
+     */
+    public void saveNow() {
+        for (final Shard shard : shards.values()) {
+            if (!shard.dirty) continue;
+            final String data = shard.config.saveToString();
+            final long version = ++shard.version;
+            shard.dirty = false;
+            write(shard, data, version);
+        }
+    }
+
+    private void write(final Shard shard, final String data, final long version) {
+        synchronized (shard) {
+            if (version <= shard.writtenVersion) return; // a newer state was already written
+            if (shard.broken) {
+                plugin.getLogger().severe(() -> "Not saving shard " + shard.file + " because it could not be loaded");
+                return;
+            }
+            try {
+                Files.createDirectories(directory.toPath());
+                Files.writeString(shard.file.toPath(), data, StandardCharsets.UTF_8);
+                shard.writtenVersion = version;
+            } catch (final IOException ex) {
+                plugin.getLogger().log(Level.SEVERE, ex, () -> "Could not save shard to " + shard.file);
+                shard.dirty = true; // retried on the next save
+            }
+        }
+    }
+
+    private Shard shard(final String key) {
+        if (key.indexOf('.') >= 0) throw new IllegalArgumentException("key must not contain '.': " + key);
+        return shard(Math.floorMod(key.hashCode(), shardCount));
+    }
+
+    private Shard shard(final int index) {
+        return shards.computeIfAbsent(index, this::loadShard);
+    }
+
+    private Shard loadShard(final int index) {
+        final File file = new File(directory, "shard-" + index + ".yml");
+        final YamlConfiguration config = new YamlConfiguration();
+        if (file.exists()) {
+            try {
+                config.load(file);
+            } catch (IOException | InvalidConfigurationException e) {
+                plugin.getLogger().log(Level.SEVERE, String.format("Could not load shard from \"%s/%s\"", directoryPath, file.getName()), e);
+                return new Shard(file, config, true);
+            }
+        }
+        return new Shard(file, config, false);
+    }
+
+    private static final class Shard {
+        private final File file;
+        private final YamlConfiguration config;
+        private volatile boolean dirty;
+        private long version;
+        private volatile long writtenVersion;
+        private final boolean broken;
+
+        private Shard(final File file, final YamlConfiguration config, final boolean broken) {
+            this.file = file;
+            this.config = config;
+            this.broken = broken;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The yaml {@link ConfigFormat}, written like Bukkits {@code YamlConfiguration} but without comments
+ */
+final class YamlConfigFormat implements ConfigFormat {
+    @Override
+    public @NotNull Map<String, Object> read(@NotNull final InputStream in) throws IOException, InvalidConfigurationException {
+        final LoaderOptions options = new LoaderOptions();
+        options.setCodePointLimit(Integer.MAX_VALUE);
+        final Object loaded;
+        try {
+            // the values stay plain, serializable objects are only deserialized once by the config
+            loaded = new Yaml(new SafeConstructor(options)).load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (final YAMLException e) {
+            throw new InvalidConfigurationException(e);
+        }
+        if (loaded == null) return new LinkedHashMap<>();
+        if (!(loaded instanceof Map<?, ?> map)) throw new InvalidConfigurationException("Top level is not a Map.");
+        final Map<String, Object> result = new LinkedHashMap<>();
+        map.forEach((key, value) -> result.put(String.valueOf(key), value));
+        return result;
+    }
+
+    @Override
+    public void write(@NotNull final Map<String, Object> values, @NotNull final OutputStream out) throws IOException {
+        final YamlConfiguration yaml = new YamlConfiguration();
+        values.forEach(yaml::set);
+        out.write(yaml.saveToString().getBytes(StandardCharsets.UTF_8));
+    }
+}
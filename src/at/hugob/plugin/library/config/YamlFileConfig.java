@@ -6,7 +6,8 @@ import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.serializer.ComponentSerializer;
-import org.bukkit.Bukkit;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.inventory.ItemStack;
@@ -15,24 +16,30 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 
 /**
  * An extension for Bukkits YamlConfiguration
  */
-public class YamlFileConfig extends YamlConfiguration {
+public class YamlFileConfig extends YamlConfiguration implements ComponentConfig {
 
     private final String filePath;
     private final File configFile;
     private final JavaPlugin plugin;
     private final Supplier<InputStream> inputStream;
+    private final ConfigFile file;
 
     /**
      * Creates a YamlFileConfiguration at the specified path inside the plugins folder
@@ -55,7 +62,8 @@ public class YamlFileConfig extends YamlConfiguration {
     public YamlFileConfig(final JavaPlugin plugin, final String filePath, final @Nullable Supplier<InputStream> inputStream) {
         this.inputStream = inputStream;
         this.filePath = filePath;
-        configFile = new File(plugin.getDataFolder(), filePath);
+        this.file = new ConfigFile(plugin, filePath, inputStream);
+        configFile = file.file();
         this.plugin = plugin;
         reload();
     }
@@ -64,31 +72,61 @@ public class YamlFileConfig extends YamlConfiguration {
      * Reload the config file from the disc or copies the default config file to the config location and loads that
      */
     public void reload() {
-        if (!configFile.exists() && inputStream != null) {
-            configFile.getParentFile().mkdirs();
-            try {
-                configFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not create Config file: " + filePath, e);
-                return;
-            }
-            try (var in = inputStream.get(); var out = new FileOutputStream(configFile)) {
-                if (in == null) {
-                    plugin.getLogger().log(Level.SEVERE, "Resource in Jar not found: " + filePath);
-                    return;
-                }
-                out.write(in.readAllBytes());
-            } catch (IOException e) {
-                plugin.getLogger().log(Level.SEVERE, "Could not write the default Config to the newly created config file: " + filePath, e);
-                return;
-            }
-        }
+        final Map<String, Object> before = changeListeners.isEmpty() ? null : flatten();
+        loadFile();
+        invalidateComponents();
+        if (precompile) precompile();
+        if (concurrentReads) publish();
+        if (before != null) changeListeners.publish(ConfigDiff.between(before, flatten(), options().pathSeparator()));
+    }
+
+    private final ConfigChangeListeners changeListeners = new ConfigChangeListeners();
+
+    /**
+     * Subscribes a listener to the changes at or below a path, that is notified after every reload that changed something there
+     *
+     * @param prefix   the path to listen to, an empty path listens to all changes
+     * @param listener the listener that gets the changes below the path
+     */
+    public void subscribe(@NotNull String prefix, @NotNull Consumer<ConfigDiff> listener) {
+        changeListeners.subscribe(prefix, listener);
+    }
+
+    /**
+     * Removes a listener from all paths it subscribed to
+     *
+     * @param listener the listener to remove
+     */
+    public void unsubscribe(@NotNull Consumer<ConfigDiff> listener) {
+        changeListeners.unsubscribe(listener);
+    }
+
+    private Map<String, Object> flatten() {
+        final Map<String, Object> values = new HashMap<>();
+        if (getDefaults() != null) putValues(getDefaults(), values);
+        putValues(this, values);
+        return values;
+    }
+
+    private static void putValues(final ConfigurationSection section, final Map<String, Object> values) {
+        section.getValues(true).forEach((path, value) -> {
+            if (!(value instanceof ConfigurationSection)) values.put(path, value);
+        });
+    }
+
+    /**
+     * Loads the config file from the disc or copies the default config file to the config location and loads that
+     *
+     * @return {@code false} if the config file exists but could not be read
+     */
+    protected boolean loadFile() {
+        if (!file.copyDefaults()) return true;
         if (configFile.exists()) {
             try {
                 load(configFile);
             } catch (IOException | InvalidConfigurationException e) {
                 plugin.getLogger().log(Level.SEVERE, String.format("Could not load Config from \"%s\"", filePath), e);
-                return;
+                return false;
             }
         } else {
             try {
@@ -106,72 +144,154 @@ public class YamlFileConfig extends YamlConfiguration {
                 plugin.getLogger().log(Level.SEVERE, String.format("Could not load the Default config for \"%s\"", filePath), e);
             }
         }
+        return true;
     }
 
     /**
      * saves the config file to the disc
+     * <p>
+     * The config is serialized on the calling thread, so it should be called from the thread that modifies the config
      */
     public void save() {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                save(configFile);
-            } catch (final IOException ex) {
-                plugin.getLogger().log(Level.SEVERE, ex, () -> "Could not save config to " + configFile);
-            }
-        });
+        writeAsync(saveToString());
     }
 
-
-    private ReentrantLock saveLock = new ReentrantLock();
-
     /**
      * Saves the config file thread safe
+     * <p>
+     * The config is serialized on the calling thread and if multiple saves are queued only the newest one is written
      */
     public void saveSync() {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            if (saveLock.hasQueuedThreads()) return; // already someone queued to save
-            saveLock.lock();
-            try {
-                save(configFile);
-            } catch (final IOException ex) {
-                plugin.getLogger().log(Level.SEVERE, ex, () -> "Could not save config to " + configFile);
-            } finally {
-                saveLock.unlock();
-            }
-        });
+        writeAsync(saveToString());
     }
 
     /**
-     * Gets a Legacy/MiniMessage Hybrid Component at a specific path and also substitutes all placeholders that have values in the config file
+     * Writes already serialized data to the config file asynchronously
      *
-     * @param path the path the component
-     * @return the Component at the path
+     * @param data the serialized config
+     * @return a future that completes once the data or newer data is written
      */
-    public Component getComponent(@NotNull String path) {
-        return getComponent(path, MiniMsgLegacyHybridSerializer.INSTANCE, null, null);
+    CompletableFuture<Void> writeAsync(final String data) {
+        return file.write(data.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
-     * Gets a Legacy/MiniMessage Hybrid Component at a specific path and also substitutes all placeholders that have values in the config file
+     * Gets a future that completes once every save that was started before is written to the disc
      *
-     * @param path        the path the component
-     * @param tagResolver An optional TagResolver to use
-     * @return the Component at the path
+     * @return the future of the last save
+     */
+    public @NotNull CompletableFuture<Void> whenSaved() {
+        return file.whenWritten();
+    }
+
+    private volatile CompactConfig snapshot;
+    private boolean concurrentReads;
+
+    /**
+     * Enables concurrent reads, from now on a read only copy of this config is published on every reload and
+     * on every call to {@link #publish()}, that can be read from any thread with {@link #snapshot()}
+     */
+    public void enableConcurrentReads() {
+        concurrentReads = true;
+        publish();
+    }
+
+    /**
+     * Publishes the current state of this config and its defaults as the new {@link #snapshot()}, should be called
+     * from the thread that modifies the config after a batch of changes
+     */
+    public void publish() {
+        if (!concurrentReads) throw new IllegalStateException("Concurrent reads are not enabled for " + filePath);
+        snapshot = CompactConfig.of(this);
+    }
+
+    /**
+     * Gets the last published copy of this config, which can safely be read from any thread without locking
+     * <p>
+     * The copy is a read only {@link CompactConfig}, every method that would modify it throws an
+     * {@code UnsupportedOperationException}. The values it returns are shared by all readers and must not be modified.
+     *
+     * @return the last published copy of this config
      */
-    public Component getComponent(@NotNull String path, @Nullable TagResolver tagResolver) {
-        return getComponent(path, MiniMsgLegacyHybridSerializer.INSTANCE, tagResolver, null);
+    public @NotNull CompactConfig snapshot() {
+        final CompactConfig current = snapshot;
+        if (current == null) throw new IllegalStateException("Concurrent reads are not enabled for " + filePath);
+        return current;
     }
 
+    private final Map<String, Component> componentCache = new ConcurrentHashMap<>();
+    private final Map<String, String> jsonCache = new ConcurrentHashMap<>();
+    private Map<String, RuntimeException> precompileFailures = Collections.emptyMap();
+    private boolean precompile;
+
     /**
-     * Gets a Legacy/MiniMessage Hybrid Component at a specific path and also substitutes all placeholders that have values in the config file
+     * Enables precompilation, from now on every string and string list in this config is parsed in parallel on every
+     * reload and the components are cached for {@link #getComponent(String)}.
+     * All messages that could not be parsed, that reference a path that is not a string or that have a tag that is
+     * never closed are logged in a single report and are not cached.
+     * <p>
+     * Changes to sub sections are not seen by the cache, {@link #clearComponentCache()} has to be called after
+     * modifying them
+     */
+    public void enablePrecompile() {
+        precompile = true;
+        invalidateComponents();
+        precompile();
+    }
+
+    /**
+     * Gets the messages that failed to parse or had problems on the last precompilation
      *
-     * @param path        the path the component
-     * @param tagResolver An optional TagResolver to use
-     * @param target      An optional target for the TagResolver to use
-     * @return the Component at the path
+     * @return the exceptions by the path of the message
+     */
+    public @NotNull Map<String, RuntimeException> getPrecompileFailures() {
+        return precompileFailures;
+    }
+
+    /**
+     * Removes all cached components and their json, they are parsed again on their next use
+     */
+    public void clearComponentCache() {
+        invalidateComponents();
+    }
+
+    private void invalidateComponents() {
+        componentCache.clear();
+        jsonCache.clear();
+    }
+
+    private void precompile() {
+        final Map<String, RuntimeException> failures = ConfigUtils.precompile(this, componentCache);
+        precompileFailures = Collections.unmodifiableMap(failures);
+        if (failures.isEmpty()) return;
+        final StringBuilder report = new StringBuilder(String.format("Could not parse %d messages in \"%s\":", failures.size(), filePath));
+        failures.forEach((path, e) -> report.append(System.lineSeparator()).append("  ").append(path).append(": ").append(e.getMessage()));
+        plugin.getLogger().warning(report.toString());
+    }
+
+    private volatile long modifications;
+
+    /**
+     * Gets how often this config was modified, changes made through a sub section are not counted
+     *
+     * @return the amount of modifications since this config was created
      */
-    public Component getComponent(@NotNull String path, @Nullable TagResolver tagResolver, @Nullable Pointered target) {
-        return getComponent(path, MiniMsgLegacyHybridSerializer.INSTANCE, tagResolver, target);
+    long getModifications() {
+        return modifications;
+    }
+
+    @Override
+    public void set(@NotNull String path, @Nullable Object value) {
+        super.set(path, value);
+        modifications++;
+        invalidateComponents();
+    }
+
+    @Override
+    public @NotNull ConfigurationSection createSection(@NotNull String path) {
+        modifications++;
+        invalidateComponents();
+        return super.createSection(path);
     }
 
     /**
@@ -186,11 +306,50 @@ public class YamlFileConfig extends YamlConfiguration {
      * @param target      An optional target to use for the TagResolver
      * @return the Component at the path
      */
+    @Override
     public <T extends Component> Component getComponent(String path, ComponentSerializer<Component, T, String> serializer, TagResolver tagResolver, Pointered target) {
         if (!(serializer instanceof MiniMessage miniMessage)) return ConfigUtils.getComponent(this, path, serializer);
+        if (precompile && serializer == MiniMsgLegacyHybridSerializer.INSTANCE && tagResolver == null && target == null) {
+            return componentCache.computeIfAbsent(path, p -> ConfigUtils.getComponent(this, p, miniMessage, null, null));
+        }
         return ConfigUtils.getComponent(this, path, miniMessage, tagResolver, target);
     }
 
+    /**
+     * Gets the Legacy/MiniMessage Hybrid Component at a specific path already serialized to the json chat format.
+     * Messages with per viewer tags have to use {@link #getComponent(String, TagResolver, Pointered)} instead.
+     * <p>
+     * When precompilation is enabled with {@link #enablePrecompile()} the json is cached, so static messages like
+     * prefixes or titles that are sent to many players are not serialized again for every recipient.
+     * The cache is cleared on every reload and on {@link #set(String, Object)} or {@link #createSection(String)}
+     * on this config, changes made through a sub section are not seen until {@link #clearComponentCache()} is called.
+     *
+     * @param path the path the component
+     * @return the component at the path as json
+     */
+    public @NotNull String getComponentJson(@NotNull String path) {
+        if (!precompile) return GsonComponentSerializer.gson().serialize(getComponent(path));
+        return jsonCache.computeIfAbsent(path, p -> GsonComponentSerializer.gson().serialize(getComponent(p)));
+    }
+
+    /**
+     * Gets the file this config is saved to
+     *
+     * @return the config file
+     */
+    protected File getConfigFile() {
+        return configFile;
+    }
+
+    /**
+     * Gets the plugin that created this config
+     *
+     * @return the plugin
+     */
+    protected JavaPlugin getPlugin() {
+        return plugin;
+    }
+
     @Override
     public @Nullable ItemStack getItemStack(@NotNull String path) {
         return ConfigUtils.getItemStack(this, path);
@@ -0,0 +1,280 @@
+package at.hugob.plugin.library.config;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * A pool of {@link YamlFileConfig}s by a key, e.g. one config per player.
+ * <p>
+ * Configs are loaded asynchronously the first time they are requested and stay in memory while they are pinned.
+ * Once there are more than the maximum amount of configs in the pool, the least recently used configs that are not
+ * pinned are saved and removed, so a config that is used again shortly after it was unpinned is neither saved nor
+ * loaded again. Pinned configs are never removed, so the pool can grow beyond its maximum while all configs are pinned.
+ * <p>
+ * Only configs that were modified through {@code set} or {@code createSection} on the config since they were loaded
+ * or last saved are written, changes made through a sub section have to be set again on the config to be saved.
+ * A removed config stays reachable until its save is written, if it is requested again in the meantime the same
+ * instance is returned instead of reading the partially written file.
+ * <p>
+ * Removed configs are serialized on the thread that caused the removal, so configs must not be modified after they
+ * were unpinned.
+ *
+ * @param <K> the type of the keys
+ */
+public class YamlFileConfigPool<K> {
+    private final JavaPlugin plugin;
+    private final int maxResident;
+    private final Function<K, YamlFileConfig> loader;
+    private final LinkedHashMap<K, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, Entry> saving = new HashMap<>();
+
+    /**
+     * Creates a YamlFileConfigPool
+     *
+     * @param plugin      the Plugin that creates the pool
+     * @param maxResident the maximum amount of configs in the pool, pinned configs count towards it but are never removed
+     * @param loader      creates the config of a key, it is called on an I/O thread
+     */
+    public YamlFileConfigPool(final JavaPlugin plugin, final int maxResident, final Function<K, YamlFileConfig> loader) {
+        if (maxResident < 0) throw new IllegalArgumentException("maxResident must not be negative");
+        this.plugin = plugin;
+        this.maxResident = maxResident;
+        this.loader = loader;
+    }
+
+    /**
+     * Creates a YamlFileConfigPool with one config per player in a folder, named by the uuid of the player,
+     * whose configs are loaded before the player joins and pinned while the player is online
+     *
+     * @param plugin        the Plugin that creates the pool
+     * @param directoryPath the path to the folder with the player configs
+     * @param maxResident   the maximum amount of configs in the pool, the configs of online players count towards it
+     *                      but are never removed
+     * @return the pool of the player configs
+     */
+    public static @NotNull YamlFileConfigPool<UUID> forPlayers(final JavaPlugin plugin, final String directoryPath, final int maxResident) {
+        return forPlayers(plugin, maxResident, uuid -> new YamlFileConfig(plugin, directoryPath + "/" + uuid + ".yml", null));
+    }
+
+    /**
+     * Creates a YamlFileConfigPool with one config per player, whose configs are loaded before the player joins and
+     * pinned while the player is online
+     * <p>
+     * The config is loaded on {@code AsyncPlayerPreLoginEvent} but only pinned on {@code PlayerJoinEvent}, so a player
+     * that disconnects before joining does not keep a pin. It can be removed again before the player joins if the pool
+     * is full, it is then loaded again on join.
+     *
+     * @param plugin      the Plugin that creates the pool
+     * @param maxResident the maximum amount of configs in the pool, the configs of online players count towards it
+     *                    but are never removed
+     * @param loader      creates the config of a player, it is called on an I/O thread
+     * @return the pool of the player configs
+     */
+    public static @NotNull YamlFileConfigPool<UUID> forPlayers(final JavaPlugin plugin, final int maxResident, final Function<UUID, YamlFileConfig> loader) {
+        final YamlFileConfigPool<UUID> pool = new YamlFileConfigPool<>(plugin, maxResident, loader);
+        Bukkit.getPluginManager().registerEvents(new PlayerListener(pool), plugin);
+        return pool;
+    }
+
+    /**
+     * Gets the config of a key, loading it asynchronously if it is not in the pool
+     *
+     * @param key the key of the config
+     * @return a future that completes with the config once it is loaded
+     */
+    public @NotNull CompletableFuture<YamlFileConfig> load(@NotNull final K key) {
+        return load(key, false);
+    }
+
+    /**
+     * Gets the config of a key, waiting for it to load if it is not in the pool
+     *
+     * @param key the key of the config
+     * @return the config
+     */
+    public @NotNull YamlFileConfig get(@NotNull final K key) {
+        return load(key).join();
+    }
+
+    /**
+     * Gets the config of a key if it is already loaded
+     *
+     * @param key the key of the config
+     * @return the config, {@code null} if it is not loaded yet
+     */
+    public @Nullable YamlFileConfig getIfLoaded(@NotNull final K key) {
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || !entry.future.isDone() || entry.future.isCompletedExceptionally()) return null;
+        return entry.future.join();
+    }
+
+    /**
+     * Keeps the config of a key in memory until it is unpinned as often as it was pinned, loading it if necessary
+     *
+     * @param key the key of the config
+     * @return a future that completes with the config once it is loaded
+     */
+    public @NotNull CompletableFuture<YamlFileConfig> pin(@NotNull final K key) {
+        return load(key, true);
+    }
+
+    private CompletableFuture<YamlFileConfig> load(final K key, final boolean pin) {
+        final Entry entry;
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            if (existing == null) {
+                // still being written after it was removed, so the file can not be read yet
+                existing = saving.remove(key);
+                if (existing != null) entries.put(key, existing);
+            }
+            if (existing != null) {
+                if (pin) existing.pins++;
+                return existing.future;
+            }
+            entry = new Entry();
+            if (pin) entry.pins++;
+            entries.put(key, entry);
+        }
+        entry.future.whenComplete((config, ex) -> {
+            if (ex == null) {
+                evict();
+                return;
+            }
+            plugin.getLogger().log(Level.SEVERE, ex, () -> "Could not load the config of " + key);
+            synchronized (entries) {
+                if (entries.get(key) == entry) entries.remove(key);
+            }
+        });
+        IoScheduler.executor(plugin).execute(() -> {
+            try {
+                final YamlFileConfig config = loader.apply(key);
+                entry.savedModifications = config.getModifications();
+                entry.future.complete(config);
+            } catch (final RuntimeException e) {
+                entry.future.completeExceptionally(e);
+            }
+        });
+        return entry.future;
+    }
+
+    /**
+     * Allows the config of a key to be removed from memory again, it is saved once it gets removed if it changed
+     *
+     * @param key the key of the config
+     */
+    public void unpin(@NotNull final K key) {
+        synchronized (entries) {
+            final Entry entry = entries.get(key);
+            if (entry != null && entry.pins > 0) entry.pins--;
+        }
+        evict();
+    }
+
+    /**
+     * Gets the amount of configs in the pool
+     *
+     * @return the amount of loaded and loading configs
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Saves all loaded configs that were modified since they were loaded or last saved
+     */
+    public void saveAll() {
+        final List<Entry> loaded = new ArrayList<>();
+        synchronized (entries) {
+            for (final Entry entry : entries.values()) {
+                if (entry.future.isDone() && !entry.future.isCompletedExceptionally()) loaded.add(entry);
+            }
+        }
+        loaded.forEach(Entry::saveIfChanged);
+    }
+
+    private void evict() {
+        final Map<K, Entry> evicted = new LinkedHashMap<>();
+        synchronized (entries) {
+            final Iterator<Map.Entry<K, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxResident && iterator.hasNext()) {
+                final Map.Entry<K, Entry> next = iterator.next();
+                final Entry entry = next.getValue();
+                if (entry.pins > 0 || !entry.future.isDone()) continue;
+                iterator.remove();
+                if (entry.future.isCompletedExceptionally()) continue;
+                evicted.put(next.getKey(), entry);
+                saving.put(next.getKey(), entry);
+            }
+        }
+        evicted.forEach((key, entry) -> entry.saveIfChanged().whenComplete((result, ex) -> {
+            synchronized (entries) {
+                // a later save of the same config can still be running if it was loaded and removed again
+                if (entry.future.join().whenSaved().isDone()) saving.remove(key, entry);
+            }
+        }));
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<YamlFileConfig> future = new CompletableFuture<>();
+        private int pins;
+        private volatile long savedModifications;
+
+        /**
+         * Saves the config if it was modified since it was loaded or last saved
+         *
+         * @return a future that completes once the save is written
+         */
+        private CompletableFuture<Void> saveIfChanged() {
+            final YamlFileConfig config = future.join();
+            final long modifications = config.getModifications();
+            if (modifications != savedModifications) {
+                savedModifications = modifications;
+                config.save();
+            }
+            return config.whenSaved();
+        }
+    }
+
+    private record PlayerListener(YamlFileConfigPool<UUID> pool) implements Listener {
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPreLogin(final AsyncPlayerPreLoginEvent event) {
+            if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+            // only loaded, the player can still disconnect before joining without a quit event
+            pool.load(event.getUniqueId()).exceptionally(ex -> null).join();
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onJoin(final PlayerJoinEvent event) {
+            pool.pin(event.getPlayer().getUniqueId());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(final PlayerQuitEvent event) {
+            pool.unpin(event.getPlayer().getUniqueId());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package at.hugob.plugin.library.config.configurate;
 
 import at.hugob.plugin.library.config.MiniMsgLegacyHybridSerializer;
+import com.google.common.collect.MapMaker;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
@@ -11,10 +12,16 @@ import org.spongepowered.configurate.serialize.TypeSerializer;
 
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.Map;
 
 final class ComponentSerializer implements TypeSerializer<Component> {
     public static final ComponentSerializer INSTANCE = new ComponentSerializer();
 
+    /**
+     * The strings the components were deserialized from, keyed by identity so only unchanged components write back their original string
+     */
+    private final Map<Component, String> sources = new MapMaker().weakKeys().makeMap();
+
     private ComponentSerializer() {
     }
 
@@ -31,7 +38,7 @@ final class ComponentSerializer implements TypeSerializer<Component> {
         var parent = source;
         while (parent.parent() != null) parent = parent.parent();
         final var finalParent = parent;
-        return MiniMsgLegacyHybridSerializer.INSTANCE.deserialize(string, TagResolver
+        final Component component = MiniMsgLegacyHybridSerializer.INSTANCE.deserialize(string, TagResolver
             .resolver("ref", (argumentQueue, context) -> {
                 final String reference = argumentQueue.popOr("reference expected").value();
                 final var value = finalParent.getString(reference);
@@ -39,6 +46,8 @@ final class ComponentSerializer implements TypeSerializer<Component> {
                 return Tag.preProcessParsed(MiniMsgLegacyHybridSerializer.parseLegacy(value));
             })
         );
+        if (string != null) sources.put(component, string);
+        return component;
     }
 
     @Override
@@ -47,6 +56,7 @@ final class ComponentSerializer implements TypeSerializer<Component> {
             target.raw(null);
             return;
         }
-        target.set(MiniMsgLegacyHybridSerializer.INSTANCE.serialize(component));
+        final String source = sources.get(component);
+        target.set(source != null ? source : MiniMsgLegacyHybridSerializer.INSTANCE.serialize(component));
     }
 }
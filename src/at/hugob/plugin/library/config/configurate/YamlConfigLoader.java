@@ -1,13 +1,20 @@
 package at.hugob.plugin.library.config.configurate;
 
+import at.hugob.plugin.library.config.ConfigChangeListeners;
+import at.hugob.plugin.library.config.ConfigDiff;
 import net.kyori.adventure.text.Component;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
 import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.serialize.TypeSerializerCollection;
 import org.spongepowered.configurate.yaml.NodeStyle;
 import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Creates a Yaml Config Loader using Configurate
@@ -18,6 +25,8 @@ public class YamlConfigLoader<ConfigClass> {
 
     private final YamlConfigurationLoader loader;
     private final Class<ConfigClass> configClass;
+    private final ConfigChangeListeners changeListeners = new ConfigChangeListeners();
+    private ConfigurationNode lastNode;
 
     /**
      * Creates a YamlConfigLoader.
@@ -71,6 +80,44 @@ public class YamlConfigLoader<ConfigClass> {
         if (!data.childrenMap().entrySet().equals(copy.childrenMap().entrySet())) {
             loader.save(data);
         }
+        final ConfigurationNode previous = lastNode;
+        lastNode = data;
+        if (changeListeners.isEmpty()) return config;
+        final Map<String, Object> before = new HashMap<>();
+        if (previous != null) flatten(previous, "", before);
+        final Map<String, Object> after = new HashMap<>();
+        flatten(data, "", after);
+        changeListeners.publish(ConfigDiff.between(before, after));
         return config;
     }
+
+    /**
+     * Subscribes a listener to the changes at or below a path, that is notified after every reload that changed something there
+     * <p>
+     * The first reload reports all values as added
+     *
+     * @param prefix   the path to listen to with the keys separated by dots, an empty path listens to all changes
+     * @param listener the listener that gets the changes below the path
+     */
+    public void subscribe(@NotNull String prefix, @NotNull Consumer<ConfigDiff> listener) {
+        changeListeners.subscribe(prefix, listener);
+    }
+
+    /**
+     * Removes a listener from all paths it subscribed to
+     *
+     * @param listener the listener to remove
+     */
+    public void unsubscribe(@NotNull Consumer<ConfigDiff> listener) {
+        changeListeners.unsubscribe(listener);
+    }
+
+    private static void flatten(final ConfigurationNode node, final String path, final Map<String, Object> values) {
+        if (node.isMap()) {
+            node.childrenMap().forEach((key, child) ->
+                flatten(child, path.isEmpty() ? String.valueOf(key) : path + '.' + key, values));
+        } else if (!path.isEmpty() && !node.virtual()) {
+            values.put(path, node.raw());
+        }
+    }
 }
@@ -0,0 +1,128 @@
+package at.hugob.plugin.library.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import org.bukkit.configuration.MemoryConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Fails when a hot path allocates more bytes per call than its budget.
+ * <p>
+ * The budgets are relative to a baseline that is measured in the same run, the call a path wraps or a comparable
+ * amount of work, so they do not depend on the JDK or its object layout. Each path can allocate
+ * {@value #HEADROOM_PERCENT}% more than its baseline, so a change that allocates noticeably more on a path fails.
+ */
+public class AllocationBudgetTest {
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+    private static final int HEADROOM_PERCENT = 15;
+    // a cache hit does not allocate, this only allows for the granularity of the measurement
+    private static final long PARSE_LEGACY_CACHED_BUDGET = 16;
+
+    private static final String LEGACY_MESSAGE = "&6&lShop &8> &7You bought &a5x &7for &#ff0000100 coins";
+    private static final String MINI_MESSAGE = "<gold><bold>Shop <dark_gray>> <gray>You bought <green>5x";
+    // the same kind of pattern and replacement as one of the two passes of parseLegacy
+    private static final Pattern LEGACY_PASS = Pattern.compile("&([0-9a-fA-FklmnorKLMNOR])");
+
+    private static volatile Object sink;
+    private static com.sun.management.ThreadMXBean threadMXBean;
+    private static MemoryConfiguration config;
+
+    @BeforeAll
+    static void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        config = new MemoryConfiguration();
+        config.set("messages.prefix", "&6&lShop &8>");
+        config.set("messages.bought", "<ref:'messages.prefix'> &7You bought &a5x");
+        config.set("messages.help", List.of("&6Help", "&7/shop buy", "&7/shop sell", "&7/shop list"));
+        config.set("settings.amount", 1000);
+        config.set("settings.price", 12.5);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {LEGACY_MESSAGE, MINI_MESSAGE})
+    void parseLegacyTest(String message) {
+        // parseLegacy makes two regex passes over the message
+        final long onePass = measure(() -> sink = LEGACY_PASS.matcher(message).replaceAll(match -> "<" + match.group(1) + ">"));
+        assertWithinBudget("parseLegacy", 2 * onePass,
+            () -> sink = MiniMsgLegacyHybridSerializer.parseLegacy(message));
+    }
+
+    @Test
+    void parseLegacyCachedTest() {
+        MiniMsgLegacyHybridSerializer.enableCache(64);
+        try {
+            final long bytesPerCall = measure(() -> sink = MiniMsgLegacyHybridSerializer.parseLegacy(LEGACY_MESSAGE));
+            assertTrue(bytesPerCall <= PARSE_LEGACY_CACHED_BUDGET,
+                () -> "cached parseLegacy allocates %d bytes per call, the budget is %d".formatted(bytesPerCall, PARSE_LEGACY_CACHED_BUDGET));
+        } finally {
+            MiniMsgLegacyHybridSerializer.disableCache();
+        }
+    }
+
+    @Test
+    void parseComponentTest() {
+        final long deserialize = measure(() -> sink = MiniMsgLegacyHybridSerializer.INSTANCE.deserialize(LEGACY_MESSAGE));
+        assertWithinBudget("parseComponent", deserialize,
+            () -> sink = ConfigUtils.parseComponent(config, LEGACY_MESSAGE, null, null));
+    }
+
+    @Test
+    void getComponentTest() {
+        final String message = config.getString("messages.bought");
+        final long parse = measure(() -> sink = ConfigUtils.parseComponent(config, message, null, null));
+        assertWithinBudget("getComponent", parse,
+            () -> sink = ConfigUtils.getComponent(config, "messages.bought"));
+    }
+
+    @Test
+    void getComponentListTest() {
+        // joining the lines must stay linear, so a list costs about as much as parsing its lines one by one
+        final List<String> lines = config.getStringList("messages.help");
+        final long parseLines = measure(() -> {
+            for (final String line : lines) sink = ConfigUtils.parseComponent(config, line, null, null);
+        });
+        assertWithinBudget("getComponent of a list", parseLines,
+            () -> sink = ConfigUtils.getComponent(config, "messages.help"));
+    }
+
+    @Test
+    void getIntegerTest() {
+        final long lookup = measure(() -> sink = config.isInt("settings.amount") ? config.getInt("settings.amount") : null);
+        assertWithinBudget("getInteger", lookup,
+            () -> sink = ConfigUtils.getInteger(config, "settings.amount"));
+    }
+
+    @Test
+    void getDoubleTest() {
+        final long lookup = measure(() -> sink = config.isDouble("settings.price") ? config.getDouble("settings.price") : null);
+        assertWithinBudget("getDouble", lookup,
+            () -> sink = ConfigUtils.getDouble(config, "settings.price"));
+    }
+
+    private static long measure(final Runnable call) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) call.run();
+        final long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) call.run();
+        return (threadMXBean.getCurrentThreadAllocatedBytes() - before) / MEASURED_ITERATIONS;
+    }
+
+    private static void assertWithinBudget(final String name, final long baseline, final Runnable call) {
+        final long budget = baseline + baseline * HEADROOM_PERCENT / 100;
+        final long bytesPerCall = measure(call);
+        assertTrue(bytesPerCall <= budget,
+            () -> "%s allocates %d bytes per call, the budget is %d (%d bytes baseline)".formatted(name, bytesPerCall, budget, baseline));
+    }
+}
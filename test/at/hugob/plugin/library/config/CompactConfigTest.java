@@ -0,0 +1,135 @@
+package at.hugob.plugin.library.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class CompactConfigTest {
+    private static MemoryConfiguration config;
+    private static CompactConfig compact;
+
+    @BeforeAll
+    static void setUp() {
+        final MemoryConfiguration defaults = new MemoryConfiguration();
+        defaults.set("int", 1);
+        defaults.set("only-default.int", 5);
+        defaults.set("only-default.string", "default");
+        defaults.set("section.default-int", 7);
+        defaults.set("section.string-or-int", 8);
+        defaults.set("section.bool", true);
+        defaults.set("section.double", 0.25);
+        defaults.set("big.key0", "default");
+        defaults.set("big.default-key", 42L);
+        defaults.set("bool-or-int", 3);
+        defaults.set("bool-or-long", 5_000_000_000L);
+        defaults.set("bool-or-double", 2.5);
+
+        config = new MemoryConfiguration(defaults);
+        config.set("int", 10);
+        config.set("negative", -3);
+        config.set("long", 5_000_000_000L);
+        config.set("double", 12.5);
+        config.set("bool", false);
+        config.set("bool-or-int", true);
+        config.set("bool-or-long", false);
+        config.set("bool-or-double", true);
+        config.set("string", "text");
+        config.set("number-string", "12");
+        config.set("list", List.of("a", "b", 3));
+        config.set("section.string-or-int", "not a number");
+        config.set("section.bool", "yes");
+        config.set("section.nested.value", 3.0);
+        for (int i = 0; i < 12; i++) {
+            config.set("big.key" + i, i % 3 == 0 ? "value" + i : i);
+        }
+        compact = CompactConfig.of(config);
+    }
+
+    static Stream<String> paths() {
+        final Set<String> paths = new LinkedHashSet<>(config.getKeys(true));
+        paths.addAll(config.getDefaults().getKeys(true));
+        paths.addAll(List.of("missing", "section.missing", "missing.missing", "big.key12", "big", "section.nested"));
+        return paths.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("paths")
+    void parityTest(String path) {
+        if (!(config.get(path) instanceof ConfigurationSection)) {
+            assertEquals(config.get(path), compact.get(path), path);
+            assertEquals(config.getString(path), compact.getString(path), path);
+        }
+        assertEquals(config.get(path, null) instanceof ConfigurationSection, compact.get(path, null) instanceof ConfigurationSection, path);
+        assertEquals(config.getInt(path), compact.getInt(path), path);
+        assertEquals(config.getInt(path, -1), compact.getInt(path, -1), path);
+        assertEquals(config.getLong(path), compact.getLong(path), path);
+        assertEquals(config.getLong(path, -1), compact.getLong(path, -1), path);
+        assertEquals(config.getDouble(path), compact.getDouble(path), path);
+        assertEquals(config.getDouble(path, -1), compact.getDouble(path, -1), path);
+        assertEquals(config.getBoolean(path), compact.getBoolean(path), path);
+        assertEquals(config.getBoolean(path, true), compact.getBoolean(path, true), path);
+        assertEquals(config.isInt(path), compact.isInt(path), path);
+        assertEquals(config.isLong(path), compact.isLong(path), path);
+        assertEquals(config.isDouble(path), compact.isDouble(path), path);
+        assertEquals(config.isBoolean(path), compact.isBoolean(path), path);
+        assertEquals(config.isString(path), compact.isString(path), path);
+        assertEquals(config.isList(path), compact.isList(path), path);
+        assertEquals(config.getStringList(path), compact.getStringList(path), path);
+        assertEquals(config.isConfigurationSection(path), compact.isConfigurationSection(path), path);
+        assertEquals(config.contains(path), compact.contains(path), path);
+        assertEquals(config.contains(path, true), compact.contains(path, true), path);
+        assertEquals(config.isSet(path), compact.isSet(path), path);
+    }
+
+    @Test
+    void keysTest() {
+        assertEquals(config.getKeys(false), compact.getKeys(false));
+        assertEquals(config.getKeys(true), compact.getKeys(true));
+        assertEquals(config.getConfigurationSection("big").getKeys(false), compact.getConfigurationSection("big").getKeys(false));
+        assertEquals("section.nested", compact.getConfigurationSection("section.nested").getCurrentPath());
+    }
+
+    @Test
+    void readOnlyTest() {
+        assertThrows(UnsupportedOperationException.class, () -> compact.set("int", 2));
+        assertThrows(UnsupportedOperationException.class, () -> compact.createSection("new"));
+        assertInstanceOf(List.class, compact.getList("list"));
+        assertThrows(UnsupportedOperationException.class, () -> compact.getList("list").clear());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copiesValuesTest() {
+        var source = new MemoryConfiguration();
+        var nested = new ArrayList<Object>(List.of("a"));
+        var map = new LinkedHashMap<String, Object>(Map.of("key", "value"));
+        source.set("list", new ArrayList<>(List.of(nested, map)));
+        source.set("vector", new Vector(1, 2, 3));
+        var copy = CompactConfig.of(source);
+
+        nested.add("b");
+        map.put("key", "changed");
+        source.getVector("vector").setX(10);
+        assertEquals(List.of(List.of("a"), Map.of("key", "value")), copy.getList("list"));
+        assertEquals(new Vector(1, 2, 3), copy.getVector("vector"));
+
+        assertThrows(UnsupportedOperationException.class, () -> ((List<Object>) copy.getList("list").get(0)).add("c"));
+        assertThrows(UnsupportedOperationException.class, () -> copy.getMapList("list").get(0).clear());
+    }
+}
@@ -0,0 +1,61 @@
+package at.hugob.plugin.library.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+public class ConfigDiffTest {
+
+    @Test
+    void betweenTest() {
+        var diff = ConfigDiff.between(
+            Map.of("a.b", 1, "a.c", "x", "d", true),
+            Map.of("a.b", 2, "a.c", "x", "e", false)
+        );
+        assertEquals(Set.of("e"), diff.getAdded());
+        assertEquals(Set.of("d"), diff.getRemoved());
+        assertEquals(Set.of("a.b"), diff.getChanged());
+        assertFalse(diff.isEmpty());
+    }
+
+    @Test
+    void emptyTest() {
+        var diff = ConfigDiff.between(Map.of("a", 1, "b.c", "x"), Map.of("a", 1, "b.c", "x"));
+        assertTrue(diff.isEmpty());
+        assertFalse(diff.affects(""));
+        assertTrue(ConfigDiff.between(Map.of(), Map.of()).isEmpty());
+    }
+
+    @Test
+    void filterTest() {
+        var diff = ConfigDiff.between(
+            Map.of("messages.prefix", "a", "messages2.prefix", "a"),
+            Map.of("messages.prefix", "b", "messages2.prefix", "b", "messages", "c")
+        );
+        var filtered = diff.filter("messages");
+        assertEquals(Set.of("messages"), filtered.getAdded());
+        assertEquals(Set.of("messages.prefix"), filtered.getChanged());
+        assertTrue(filtered.getRemoved().isEmpty());
+        assertSame(diff, diff.filter(""));
+
+        assertTrue(diff.affects("messages.prefix"));
+        assertTrue(diff.affects("messages2"));
+        assertFalse(diff.affects("messages.suffix"));
+        assertFalse(diff.affects("mess"));
+    }
+
+    @Test
+    void separatorTest() {
+        var diff = ConfigDiff.between(Map.of("a/b.c", 1), Map.of("a/b.c", 2), '/');
+        assertTrue(diff.affects("a"));
+        assertTrue(diff.affects("a/b.c"));
+        assertFalse(diff.affects("a/b"));
+        assertEquals(Set.of("a/b.c"), diff.filter("a").getChanged());
+    }
+}
@@ -0,0 +1,124 @@
+package at.hugob.plugin.library.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class ConfigFormatTest {
+
+    static Stream<ConfigFormat> formats() {
+        return Stream.of(ConfigFormat.JSON, ConfigFormat.BINARY);
+    }
+
+    private static byte[] write(ConfigFormat format, Map<String, Object> values) throws IOException {
+        var out = new ByteArrayOutputStream();
+        format.write(values, out);
+        return out.toByteArray();
+    }
+
+    private static Map<String, Object> read(ConfigFormat format, byte[] data) throws IOException, InvalidConfigurationException {
+        return format.read(new ByteArrayInputStream(data));
+    }
+
+    private static Map<String, Object> values() {
+        var nested = new LinkedHashMap<String, Object>();
+        nested.put("string", "text with \u00e4\u00f6\u00fc and \ud83d\ude00");
+        nested.put("empty-string", "");
+        nested.put("empty-list", List.of());
+        nested.put("empty-map", new LinkedHashMap<>());
+        nested.put("deeper", Map.of("list", List.of(Map.of("a", 1), List.of("b", true))));
+
+        var values = new LinkedHashMap<String, Object>();
+        values.put("int-min", Integer.MIN_VALUE);
+        values.put("int-max", Integer.MAX_VALUE);
+        values.put("zero", 0);
+        values.put("long-min", Long.MIN_VALUE);
+        values.put("long-max", Long.MAX_VALUE);
+        values.put("long-above-int", (long) Integer.MAX_VALUE + 1);
+        values.put("double", 12.5);
+        values.put("double-whole", 3.0);
+        values.put("double-min", Double.MIN_VALUE);
+        values.put("double-max", Double.MAX_VALUE);
+        values.put("double-negative", -1e-300);
+        values.put("true", true);
+        values.put("false", false);
+        values.put("list", Arrays.asList("a", 1, null, 2.5));
+        values.put("nested", nested);
+        return values;
+    }
+
+    @ParameterizedTest
+    @MethodSource("formats")
+    void roundTripTest(ConfigFormat format) throws Exception {
+        var values = values();
+        assertEquals(values, read(format, write(format, values)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formats")
+    void emptyTest(ConfigFormat format) throws Exception {
+        assertTrue(read(format, new byte[0]).isEmpty());
+        assertEquals(Collections.emptyMap(), read(format, write(format, Map.of())));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formats")
+    void truncatedTest(ConfigFormat format) throws Exception {
+        var data = write(format, values());
+        for (int length : new int[]{data.length / 2, data.length - 1}) {
+            assertThrows(InvalidConfigurationException.class, () -> read(format, Arrays.copyOf(data, length)));
+        }
+    }
+
+    @Test
+    void jsonCorruptTest() {
+        for (var json : List.of("[1, 2]", "\"text\"", "{\"a\": }", "{\"a\" 1}", "{\"a\": 99999999999999999999}")) {
+            assertThrows(InvalidConfigurationException.class,
+                () -> read(ConfigFormat.JSON, json.getBytes(StandardCharsets.UTF_8)), json);
+        }
+        assertThrows(IOException.class, () -> write(ConfigFormat.JSON, Map.of("nan", Double.NaN)));
+    }
+
+    @Test
+    void binaryCorruptTest() throws Exception {
+        assertThrows(InvalidConfigurationException.class,
+            () -> read(ConfigFormat.BINARY, "not binary".getBytes(StandardCharsets.UTF_8)));
+
+        // a map with one entry whose key has a negative length
+        var header = write(ConfigFormat.BINARY, Map.of());
+        var negativeLength = ByteBuffer.allocate(header.length + 4)
+            .put(header, 0, header.length - 4).putInt(1).putInt(-1).array();
+        assertThrows(InvalidConfigurationException.class, () -> read(ConfigFormat.BINARY, negativeLength));
+
+        // a list that claims to have Integer.MAX_VALUE elements
+        var hugeList = ByteBuffer.allocate(header.length + 10)
+            .put(header, 0, header.length - 4).putInt(1).putInt(1).put((byte) 'a').put((byte) 7).putInt(Integer.MAX_VALUE).array();
+        assertThrows(InvalidConfigurationException.class, () -> read(ConfigFormat.BINARY, hugeList));
+    }
+
+    @Test
+    void binaryTypesTest() throws Exception {
+        var values = new LinkedHashMap<String, Object>();
+        values.put("long", 5L);
+        values.put("float", 1.5f);
+        values.put("int", 5);
+        assertEquals(values, read(ConfigFormat.BINARY, write(ConfigFormat.BINARY, values)));
+    }
+}
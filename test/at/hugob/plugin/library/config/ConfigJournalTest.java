@@ -0,0 +1,192 @@
+package at.hugob.plugin.library.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class ConfigJournalTest {
+    @TempDir
+    File folder;
+
+    private static byte[] records(Object... pathsAndValues) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        for (int i = 0; i < pathsAndValues.length; i += 2) {
+            ConfigJournal.writeRecord(out, (String) pathsAndValues[i], pathsAndValues[i + 1]);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static YamlConfiguration replay(byte[] journal) throws IOException, InvalidConfigurationException {
+        var config = new YamlConfiguration();
+        ConfigJournal.replay(new ByteArrayInputStream(journal), config);
+        return config;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+    }
+
+    private static @Nullable String read(File file) throws IOException {
+        return file.exists() ? Files.readString(file.toPath(), StandardCharsets.UTF_8) : null;
+    }
+
+    @Test
+    void replayOrderTest() throws IOException, InvalidConfigurationException {
+        var config = replay(records(
+            "a", 1,
+            "b.c", "first",
+            "a", 2,
+            "b.c", "second",
+            "list", List.of("x", "y")
+        ));
+        assertEquals(2, config.getInt("a"));
+        assertEquals("second", config.getString("b.c"));
+        assertEquals(List.of("x", "y"), config.getStringList("list"));
+    }
+
+    @Test
+    void sectionRecordTest() throws IOException, InvalidConfigurationException {
+        var section = new YamlConfiguration();
+        section.set("x", 1);
+        section.set("y.z", "deep");
+        var config = replay(records("s", section));
+        assertTrue(config.isConfigurationSection("s"));
+        assertEquals(1, config.getInt("s.x"));
+        assertEquals("deep", config.getString("s.y.z"));
+    }
+
+    @Test
+    void deleteRecordTest() throws IOException, InvalidConfigurationException {
+        var config = replay(records(
+            "a", 1,
+            "b", Map.of("c", true),
+            "a", null,
+            "b.c", null
+        ));
+        assertFalse(config.contains("a"));
+        assertFalse(config.contains("b.c"));
+    }
+
+    @Test
+    void deleteThenSetTest() throws IOException, InvalidConfigurationException {
+        var config = replay(records("a", 1, "a", null, "a", 3));
+        assertEquals(3, config.getInt("a"));
+    }
+
+    @Test
+    void emptyJournalTest() throws IOException, InvalidConfigurationException {
+        assertTrue(replay(new byte[0]).getKeys(true).isEmpty());
+    }
+
+    @Test
+    void incompleteLastRecordTest() throws IOException, InvalidConfigurationException {
+        var complete = records("a", 1, "b", "text");
+        var last = records("c", "cut off");
+        // every cut inside the last record keeps the complete records and reports the incomplete one
+        for (int cut = 1; cut < last.length; cut++) {
+            var journal = Arrays.copyOf(complete, complete.length + cut);
+            System.arraycopy(last, 0, journal, complete.length, cut);
+            var config = new YamlConfiguration();
+            assertThrows(EOFException.class, () -> ConfigJournal.replay(new ByteArrayInputStream(journal), config));
+            assertEquals(1, config.getInt("a"));
+            assertEquals("text", config.getString("b"));
+            assertFalse(config.contains("c"));
+        }
+    }
+
+    @Test
+    void appendTest() throws IOException, InvalidConfigurationException {
+        var configFile = new File(folder, "config.yml");
+        ConfigJournal.append(configFile, records("a", 1));
+        ConfigJournal.append(configFile, records("a", 2, "b", "x"));
+        var config = new YamlConfiguration();
+        try (var in = new FileInputStream(ConfigJournal.journalFile(configFile))) {
+            ConfigJournal.replay(in, config);
+        }
+        assertEquals(2, config.getInt("a"));
+        assertEquals("x", config.getString("b"));
+    }
+
+    @Test
+    void writeCompactedTest() throws IOException {
+        var configFile = new File(folder, "config.yml");
+        write(configFile, "a: 1\n");
+        ConfigJournal.append(configFile, records("a", 2));
+        ConfigJournal.writeCompacted(configFile, "a: 2\n");
+        assertEquals("a: 2\n", read(configFile));
+        assertFalse(ConfigJournal.journalFile(configFile).exists());
+        assertFalse(ConfigJournal.oldJournalFile(configFile).exists());
+        assertFalse(ConfigJournal.compactedFile(configFile).exists());
+    }
+
+    @Test
+    void recoverCompactedOnlyTest() throws IOException {
+        // crashed before the journal was moved, the journal still belongs to the old config file
+        var configFile = new File(folder, "config.yml");
+        write(configFile, "a: 1\n");
+        write(ConfigJournal.journalFile(configFile), "journal");
+        write(ConfigJournal.compactedFile(configFile), "a: 2\n");
+        ConfigJournal.recoverCompaction(configFile);
+        assertEquals("a: 1\n", read(configFile));
+        assertEquals("journal", read(ConfigJournal.journalFile(configFile)));
+        assertFalse(ConfigJournal.compactedFile(configFile).exists());
+    }
+
+    @Test
+    void recoverCompactedAndOldJournalTest() throws IOException {
+        // crashed after the journal was moved but before the compacted file was moved into place
+        var configFile = new File(folder, "config.yml");
+        write(configFile, "a: 1\n");
+        write(ConfigJournal.oldJournalFile(configFile), "journal");
+        write(ConfigJournal.compactedFile(configFile), "a: 2\n");
+        ConfigJournal.recoverCompaction(configFile);
+        assertEquals("a: 2\n", read(configFile));
+        assertFalse(ConfigJournal.oldJournalFile(configFile).exists());
+        assertFalse(ConfigJournal.compactedFile(configFile).exists());
+        assertNull(read(ConfigJournal.journalFile(configFile)));
+    }
+
+    @Test
+    void recoverOldJournalOnlyTest() throws IOException {
+        // crashed after the compacted file was moved into place but before the old journal was deleted
+        var configFile = new File(folder, "config.yml");
+        write(configFile, "a: 2\n");
+        write(ConfigJournal.oldJournalFile(configFile), "journal");
+        ConfigJournal.recoverCompaction(configFile);
+        assertEquals("a: 2\n", read(configFile));
+        assertFalse(ConfigJournal.oldJournalFile(configFile).exists());
+        assertNull(read(ConfigJournal.journalFile(configFile)));
+    }
+
+    @Test
+    void recoverNothingTest() throws IOException {
+        var configFile = new File(folder, "config.yml");
+        write(configFile, "a: 1\n");
+        write(ConfigJournal.journalFile(configFile), "journal");
+        ConfigJournal.recoverCompaction(configFile);
+        assertEquals("a: 1\n", read(configFile));
+        assertEquals("journal", read(ConfigJournal.journalFile(configFile)));
+    }
+}
@@ -0,0 +1,75 @@
+package at.hugob.plugin.library.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public class ConfigUtilsTest {
+
+    @Test
+    void multiLineInheritsFirstLineStyleTest() {
+        var config = new MemoryConfiguration();
+        config.set("text", List.of("&6Title", "plain text", "last line"));
+        var component = ConfigUtils.getComponent(config, "text");
+        assertEquals(NamedTextColor.GOLD, colorOf(component, "Title"));
+        assertEquals(NamedTextColor.GOLD, colorOf(component, "plain text"));
+        assertEquals(NamedTextColor.GOLD, colorOf(component, "last line"));
+    }
+
+    @Test
+    void streamedLinesDoNotInheritTest() {
+        var config = new MemoryConfiguration();
+        config.set("text", List.of("&6Title", "plain text"));
+        var lines = ConfigUtils.streamComponents(config, "text", null, null).toList();
+        assertEquals(2, lines.size());
+        assertEquals(NamedTextColor.GOLD, colorOf(lines.get(0), "Title"));
+        assertNull(colorOf(lines.get(1), "plain text"));
+    }
+
+    @Test
+    void precompileFailuresTest() {
+        var config = new MemoryConfiguration();
+        config.set("prefix", "&7Shop &8>");
+        config.set("fine", "<ref:'prefix'> &6You bought <green>5x</green>");
+        config.set("fine-list", List.of("&6Title", "<gray>a < b and 3 > 2"));
+        config.set("missing-reference", "<ref:'messages.nope'> text");
+        config.set("unclosed-tag", "&6Text <hover:show_text:'hi'");
+        config.set("list-with-problem", List.of("&6Title", "<red"));
+        config.set("number", 5);
+        var cache = new HashMap<String, Component>();
+        var failures = ConfigUtils.precompile(config, cache);
+
+        assertEquals(Set.of("missing-reference", "unclosed-tag", "list-with-problem"), failures.keySet());
+        assertTrue(failures.get("missing-reference").getMessage().contains("messages.nope"), failures.get("missing-reference").getMessage());
+        assertTrue(failures.get("unclosed-tag").getMessage().contains("<hover:show_text:'hi'"), failures.get("unclosed-tag").getMessage());
+        assertEquals(Set.of("prefix", "fine", "fine-list"), cache.keySet());
+    }
+
+    private static @Nullable TextColor colorOf(final Component component, final String content) {
+        return findColor(component, null, content).orElseThrow(() -> new AssertionError("\"" + content + "\" not found"))
+            .orElse(null);
+    }
+
+    private static Optional<Optional<TextColor>> findColor(final Component component, final @Nullable TextColor inherited, final String content) {
+        final TextColor color = component.color() != null ? component.color() : inherited;
+        if (component instanceof TextComponent text && text.content().equals(content)) return Optional.of(Optional.ofNullable(color));
+        for (final Component child : component.children()) {
+            final Optional<Optional<TextColor>> found = findColor(child, color, content);
+            if (found.isPresent()) return found;
+        }
+        return Optional.empty();
+    }
+}
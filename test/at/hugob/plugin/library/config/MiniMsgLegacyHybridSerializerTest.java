@@ -1,6 +1,7 @@
 package at.hugob.plugin.library.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.stream.Stream;
 
@@ -76,4 +78,51 @@ public class MiniMsgLegacyHybridSerializerTest {
         assertEquals("<#ff0000>test", serialized);
 
     }
+
+    @Test
+    void cacheTest() {
+        var cache = MiniMsgLegacyHybridSerializer.enableCache(4);
+        try {
+            assertEquals("<red>test", MiniMsgLegacyHybridSerializer.parseLegacy("&ctest"));
+            assertEquals("<red>test", MiniMsgLegacyHybridSerializer.parseLegacy("&ctest"));
+            assertEquals(1, cache.hitCount());
+            assertEquals(1, cache.missCount());
+            assertEquals(0.5, cache.hitRate());
+
+            for (int i = 0; i < 32; i++) {
+                assertEquals("<gold>" + i, MiniMsgLegacyHybridSerializer.parseLegacy("&6" + i));
+            }
+            assertTrue(cache.size() <= cache.capacity());
+        } finally {
+            MiniMsgLegacyHybridSerializer.disableCache();
+        }
+        assertNull(MiniMsgLegacyHybridSerializer.getCache());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 17, 100})
+    void cacheCapacityTest(int capacity) {
+        var cache = MiniMsgLegacyHybridSerializer.enableCache(capacity);
+        try {
+            for (int i = 0; i < capacity * 8; i++) {
+                MiniMsgLegacyHybridSerializer.parseLegacy("&6" + i);
+                assertTrue(cache.size() <= capacity);
+            }
+            assertEquals(capacity, cache.capacity());
+        } finally {
+            MiniMsgLegacyHybridSerializer.disableCache();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "text", "<gold>text", "<gold>a < b", "3 > 2 <3", "\\<gold", "<hover:show_text:'<red>hi'>text", "<click:run_command:\"/a > b\">"})
+    void closedTagsTest(String text) {
+        assertEquals(-1, MiniMsgLegacyHybridSerializer.findUnclosedTag(text));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"<gold", "text <gold", "<gold <red>text", "<hover:show_text:'hi>text", "<gold>text</gold"})
+    void unclosedTagsTest(String text) {
+        assertTrue(MiniMsgLegacyHybridSerializer.findUnclosedTag(text) >= 0);
+    }
 }